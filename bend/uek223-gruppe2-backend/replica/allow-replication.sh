@@ -0,0 +1,4 @@
+#!/bin/sh
+# Lets the postgres-replica service of docker-compose.yml stream from this database.
+# Init scripts only run when the data volume is created.
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,117 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.core.security.permissions.CompiledPermissionExpressionHandler;
+import com.example.demo.core.security.permissions.Permission;
+import com.example.demo.domain.authority.Authority;
+import com.example.demo.domain.role.Role;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserDetailsImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+/**
+ * Authorization overhead of one PUT /blogpost/{id} request by an admin: building the
+ * authentication in JWTAuthorizationFilter, evaluating the {@code @PreAuthorize} expression and the
+ * EDIT_ANY check in the controller. {@code legacy} reproduces the per-call stream rebuilding and
+ * string matching, {@code compiled} uses the cached principal and its permission bitset.
+ * {@code snapshotAuthorities} is what a principal cache miss adds for building the authorities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+  private static final String UPDATE_EXPRESSION = "hasAuthority('BLOGPOST_EDIT_ANY') or hasAuthority('BLOGPOST_EDIT_OWN')";
+
+  private User user;
+  private UserDetailsImpl principal;
+  private MethodSecurityExpressionHandler legacyHandler;
+  private MethodSecurityExpressionHandler compiledHandler;
+  private Expression legacyExpression;
+  private Expression compiledExpression;
+  private SimpleMethodInvocation invocation;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    Role admin = role("ADMIN", Arrays.stream(Permission.values()).map(Enum::name).toArray(String[]::new));
+    Role userRole = role("USER", "USER_DEACTIVATE", "USER_MODIFY", "BLOGPOST_CREATE", "BLOGPOST_READ",
+        "BLOGPOST_MODIFY", "BLOGPOST_DELETE", "BLOGPOST_EDIT_OWN", "BLOGPOST_DELETE_OWN");
+    Role defaultRole = role("DEFAULT", "USER_CREATE", "BLOGPOST_READ");
+    user = new User(UUID.randomUUID(), "James", "Bond", "admin@example.com", "hash", Set.of(admin, userRole, defaultRole));
+    principal = UserDetailsImpl.snapshotOf(user);
+
+    legacyHandler = new DefaultMethodSecurityExpressionHandler();
+    compiledHandler = new CompiledPermissionExpressionHandler();
+    legacyExpression = legacyHandler.getExpressionParser().parseExpression(UPDATE_EXPRESSION);
+    compiledExpression = compiledHandler.getExpressionParser().parseExpression(UPDATE_EXPRESSION);
+    invocation = new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+  }
+
+  @Benchmark
+  public boolean legacy() {
+    List<SimpleGrantedAuthority> authorities = legacyAuthorities(user);
+    Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
+    boolean allowed = ExpressionUtils.evaluateAsBoolean(legacyExpression,
+        legacyHandler.createEvaluationContext(() -> authentication, invocation));
+    return allowed && legacyAuthorities(user).stream().anyMatch(a -> a.getAuthority().equals("BLOGPOST_EDIT_ANY"));
+  }
+
+  @Benchmark
+  public boolean compiled() {
+    Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    boolean allowed = ExpressionUtils.evaluateAsBoolean(compiledExpression,
+        compiledHandler.createEvaluationContext(() -> authentication, invocation));
+    return allowed && principal.has(Permission.BLOGPOST_EDIT_ANY);
+  }
+
+  @Benchmark
+  public Collection<? extends GrantedAuthority> snapshotAuthorities() {
+    return UserDetailsImpl.snapshotOf(user).getAuthorities();
+  }
+
+  // The getAuthorities() implementation before the permission model was compiled
+  private static List<SimpleGrantedAuthority> legacyAuthorities(User user) {
+    List<SimpleGrantedAuthority> authorities = new ArrayList<>(user.getRoles()
+        .stream()
+        .flatMap(r -> r.getAuthorities()
+            .stream())
+        .map(a -> new SimpleGrantedAuthority(a.getName()))
+        .toList());
+    authorities.addAll(user.getRoles().stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName())).toList());
+    return authorities;
+  }
+
+  private static Role role(String name, String... authorities) {
+    return new Role(UUID.randomUUID(), name, Arrays.stream(authorities)
+        .map(a -> new Authority(UUID.randomUUID(), a))
+        .collect(Collectors.toSet()));
+  }
+}
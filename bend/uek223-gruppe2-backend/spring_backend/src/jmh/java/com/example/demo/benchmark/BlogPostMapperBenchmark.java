@@ -0,0 +1,53 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.blogpost.BlogPost;
+import com.example.demo.domain.blogpost.dto.BlogPostDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostMapper;
+import com.example.demo.domain.blogpost.dto.BlogPostMapperImpl_;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity to DTO mapping of one list page of {@code GET /blogpost}. The generated mapper is used
+ * without the metrics decorator, whose timer shows up in production only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlogPostMapperBenchmark {
+
+  @Param({"20", "100"})
+  public int pageSize;
+
+  private final BlogPostMapper blogPostMapper = new BlogPostMapperImpl_();
+  private List<BlogPost> page;
+
+  @Setup
+  public void setUp() {
+    page = BlogPosts.page(pageSize, 2_000);
+  }
+
+  @Benchmark
+  public BlogPostDTO toDTO() {
+    return blogPostMapper.toDTO(page.get(0));
+  }
+
+  @Benchmark
+  public List<BlogPostDTO> toDTOs() {
+    return blogPostMapper.toDTOs(page);
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.blogpost.dto.BlogPostMapperImpl_;
+import com.example.demo.domain.blogpost.dto.BlogPostPageResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson serialization of a {@code GET /blogpost} page whose posts carry texts of the maximum
+ * length of 50,000 characters, with the ObjectMapper defaults Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlogPostPageSerializationBenchmark {
+
+  @Param({"20", "100"})
+  public int pageSize;
+
+  @Param({"50000"})
+  public int textLength;
+
+  private ObjectWriter writer;
+  private BlogPostPageResponseDTO page;
+
+  @Setup
+  public void setUp() {
+    writer = Jackson2ObjectMapperBuilder.json().build().writerFor(BlogPostPageResponseDTO.class);
+    page = new BlogPostPageResponseDTO(new BlogPostMapperImpl_().toDTOs(BlogPosts.page(pageSize, textLength)),
+        -1, -1, 0, pageSize, true, false, true);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return writer.writeValueAsBytes(page);
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * First search page on a synthetic table of {@code rows} posts: the {@code tsvector} match with GIN
+ * index and ranking used by {@code GET /blogpost/search} against an {@code ILIKE} scan over title
+ * and text. Needs a PostgreSQL instance, by default the one from docker-compose; override with
+ * {@code -Dbenchmark.jdbcUrl}, {@code -Dbenchmark.user} and {@code -Dbenchmark.password}. The
+ * table is built once per trial in its own schema and dropped afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogPostSearchBenchmark {
+
+  private static final String SCHEMA = "search_benchmark";
+
+  private static final String FULL_TEXT = "SELECT p.id, ts_rank(p.search_vector, q) AS rank "
+      + "FROM blog_post p, websearch_to_tsquery('english', ?) q WHERE p.search_vector @@ q "
+      + "ORDER BY rank DESC, p.id DESC LIMIT 6";
+
+  private static final String ILIKE = "SELECT p.id FROM blog_post p "
+      + "WHERE p.title ILIKE '%' || ? || '%' OR p.text ILIKE '%' || ? || '%' "
+      + "ORDER BY p.created_at DESC, p.id DESC LIMIT 6";
+
+  @Param({"100000", "1000000"})
+  public int rows;
+
+  // A rare and a common term of the generated text
+  @Param({"kubernetes", "performance"})
+  public String term;
+
+  private Connection connection;
+  private PreparedStatement fullText;
+  private PreparedStatement ilike;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection(
+        System.getProperty("benchmark.jdbcUrl", "jdbc:postgresql://localhost:5432/postgres"),
+        System.getProperty("benchmark.user", "postgres"),
+        System.getProperty("benchmark.password", "postgres"));
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+      statement.execute("CREATE SCHEMA " + SCHEMA);
+      statement.execute("SET search_path TO " + SCHEMA);
+      statement.execute("CREATE TABLE blog_post (id uuid PRIMARY KEY, title varchar(255), text text, "
+          + "created_at timestamp, search_vector tsvector GENERATED ALWAYS AS ("
+          + "setweight(to_tsvector('english', coalesce(title, '')), 'A') "
+          + "|| setweight(to_tsvector('english', coalesce(text, '')), 'B')) STORED)");
+      // Every 1000th post mentions the rare term, every 10th the common one
+      statement.execute("INSERT INTO blog_post (id, title, text, created_at) "
+          + "SELECT gen_random_uuid(), 'Post ' || n || CASE WHEN n % 1000 = 0 THEN ' on Kubernetes' ELSE '' END, "
+          + "repeat('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 8) "
+          + "|| CASE WHEN n % 10 = 0 THEN 'Some notes on performance tuning. ' ELSE '' END, "
+          + "now() - n * interval '1 minute' FROM generate_series(1, " + rows + ") n");
+      statement.execute("CREATE INDEX ON blog_post USING gin (search_vector)");
+      statement.execute("ANALYZE blog_post");
+    }
+    fullText = connection.prepareStatement(FULL_TEXT);
+    ilike = connection.prepareStatement(ILIKE);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public int fullTextSearch() throws SQLException {
+    fullText.setString(1, term);
+    return count(fullText);
+  }
+
+  @Benchmark
+  public int ilikeScan() throws SQLException {
+    ilike.setString(1, term);
+    ilike.setString(2, term);
+    return count(ilike);
+  }
+
+  private static int count(PreparedStatement statement) throws SQLException {
+    int count = 0;
+    try (ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.blogpost.PrefixIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Suggestion latency of the {@link PrefixIndex} behind {@code GET /blogpost/suggest} over a million
+ * synthetic titles, for a one letter prefix matching a large range and a longer, selective one.
+ * The setup prints the retained heap of the index per million titles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class BlogPostSuggestBenchmark {
+
+  private static final String[] WORDS = {"spring", "docker", "postgres", "react", "testing", "kotlin", "redis",
+      "security", "caching", "graphql", "kubernetes", "performance", "deployment", "patterns", "microservices"};
+
+  @Param({"1000000"})
+  public int titles;
+
+  @Param({"d", "docker pe"})
+  public String prefix;
+
+  private PrefixIndex index;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Measured from before the input is generated, so only what the index keeps is counted
+    long before = usedHeap();
+    Random random = new Random(42);
+    List<PrefixIndex.Entry> entries = new ArrayList<>(titles);
+    for (int i = 0; i < titles; i++) {
+      String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+          + WORDS[random.nextInt(WORDS.length)] + " part " + i;
+      entries.add(new PrefixIndex.Entry(UUID.randomUUID(), title, 1_700_000_000_000L + random.nextInt(1_000_000_000)));
+    }
+    index = PrefixIndex.of(entries);
+    entries = null;
+    long retained = usedHeap() - before;
+    System.out.printf("%nPrefixIndex retains %.1f MB per million titles%n",
+        retained / 1024.0 / 1024.0 * 1_000_000 / titles);
+  }
+
+  @Benchmark
+  public List<PrefixIndex.Entry> suggest() {
+    return index.top(prefix, 10, id -> false);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
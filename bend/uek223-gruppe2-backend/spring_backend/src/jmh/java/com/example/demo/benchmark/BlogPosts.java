@@ -0,0 +1,45 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.blogpost.BlogPost;
+import com.example.demo.domain.user.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Synthetic blog posts shared by the list benchmarks.
+ */
+final class BlogPosts {
+
+  private static final String[] WORDS = {"spring", "docker", "postgres", "react", "testing", "kotlin", "redis",
+      "security", "caching", "graphql", "kubernetes", "performance", "deployment", "patterns", "microservices"};
+
+  private BlogPosts() {
+  }
+
+  /**
+   * @return One page of posts by five authors with texts of about {@code textLength} characters
+   */
+  static List<BlogPost> page(int size, int textLength) {
+    Random random = new Random(42);
+    List<User> authors = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      authors.add(new User(UUID.randomUUID(), "Author" + i, "Writer", "author" + i + "@example.com", "hash", Set.of()));
+    }
+    LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+    List<BlogPost> posts = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      StringBuilder text = new StringBuilder(textLength + 16);
+      while (text.length() < textLength) {
+        text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+      }
+      posts.add(new BlogPost(UUID.randomUUID(), "Post " + i + " about " + WORDS[random.nextInt(WORDS.length)],
+          text.toString(), WORDS[random.nextInt(WORDS.length)], authors.get(i % authors.size()),
+          createdAt.plusMinutes(i), createdAt.plusMinutes(i)));
+    }
+    return posts;
+  }
+}
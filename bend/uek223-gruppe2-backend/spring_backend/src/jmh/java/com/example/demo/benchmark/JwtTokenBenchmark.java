@@ -0,0 +1,74 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.core.security.helpers.JwtProperties;
+import com.example.demo.core.security.jwt.JwtTokenService;
+import com.example.demo.core.security.jwt.VerifiedToken;
+import com.example.demo.domain.authority.Authority;
+import com.example.demo.domain.role.Role;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token work of login and of every authenticated request. {@code verifyCached} is the path of
+ * JWTAuthorizationFilter for a token this node has seen before, {@code parseAndVerify} the
+ * signature check and claim parsing that its first request pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+  // Same key length as jwt.secret in application.properties
+  private static final String SECRET = "A".repeat(73);
+
+  private JwtTokenService jwtTokenService;
+  private JwtParser parser;
+  private UserDetailsImpl principal;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtTokenService = new JwtTokenService(new JwtProperties(100_000_000, "uk223", SECRET, 10_000, false));
+    parser = Jwts.parserBuilder().setSigningKey(jwtTokenService.getSigningKey()).build();
+    Role admin = new Role(UUID.randomUUID(), "ADMIN", Set.of(new Authority(UUID.randomUUID(), "BLOGPOST_MODIFY"),
+        new Authority(UUID.randomUUID(), "BLOGPOST_EDIT_ANY"), new Authority(UUID.randomUUID(), "USER_MODIFY")));
+    principal = UserDetailsImpl.snapshotOf(new User(UUID.randomUUID(), "James", "Bond", "admin@example.com", "hash",
+        Set.of(admin)));
+    token = "Bearer " + jwtTokenService.generate(principal);
+    jwtTokenService.verify(token);
+  }
+
+  @Benchmark
+  public String generate() {
+    return jwtTokenService.generate(principal);
+  }
+
+  @Benchmark
+  public VerifiedToken verifyCached() {
+    return jwtTokenService.verify(token);
+  }
+
+  @Benchmark
+  public Claims parseAndVerify() {
+    return parser.parseClaimsJws(token.substring("Bearer ".length())).getBody();
+  }
+}
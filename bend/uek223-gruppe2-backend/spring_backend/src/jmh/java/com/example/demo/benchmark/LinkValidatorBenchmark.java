@@ -0,0 +1,36 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.core.security.validators.link.LinkValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One {@code @Link} constraint check, for an accepted and a rejected value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkValidatorBenchmark {
+
+  @Param({"https://www.example.com/blog/posts?page=2&size=20", "javascript:alert(1)"})
+  public String link;
+
+  private final LinkValidator linkValidator = new LinkValidator();
+
+  @Benchmark
+  public boolean isValid() {
+    return linkValidator.isValid(link, null);
+  }
+}
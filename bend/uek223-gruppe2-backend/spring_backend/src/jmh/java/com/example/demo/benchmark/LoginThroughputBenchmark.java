@@ -0,0 +1,132 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.core.security.helpers.LoginProperties;
+import com.example.demo.core.security.login.LoginExecutor;
+import com.example.demo.core.security.login.LoginRejectedException;
+import com.example.demo.domain.blogpost.BlogPost;
+import com.example.demo.domain.blogpost.BlogPostRepository;
+import com.example.demo.domain.blogpost.BlogPostService;
+import com.example.demo.domain.blogpost.BlogPostServiceImpl;
+import com.example.demo.domain.blogpost.dto.BlogPostDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostMapper;
+import com.example.demo.domain.blogpost.dto.BlogPostMapperImpl_;
+import com.example.demo.domain.blogpost.dto.BlogPostPageResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Concurrent logins next to concurrent blog post reads. In the {@code inline} group every login
+ * thread hashes on its own thread, as Tomcat did before; in the {@code isolated} group the same
+ * logins go through the bounded {@link LoginExecutor}. Sample-time mode reports p50/p99 for the
+ * login and the read method of each group, so the read latency under a login burst can be compared.
+ * <p>
+ * A read is an uncached list page of {@code GET /blogpost}: {@link BlogPostServiceImpl} against a
+ * repository stub that answers with a fixed page, {@link BlogPostMapper} and serialization. The
+ * database round trip is left out, as it does not compete with the hashing for CPU.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+  private static final String PASSWORD = "1234";
+
+  private BCryptPasswordEncoder encoder;
+  private String hash;
+  private LoginExecutor loginExecutor;
+  private ObjectMapper objectMapper;
+  private BlogPostService blogPostService;
+  private BlogPostMapper blogPostMapper;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    encoder = new BCryptPasswordEncoder(10);
+    hash = encoder.encode(PASSWORD);
+    loginExecutor = new LoginExecutor(new LoginProperties(2, 64, 5_000, 1));
+    objectMapper = new ObjectMapper().findAndRegisterModules();
+    blogPostMapper = new BlogPostMapperImpl_();
+    List<BlogPost> posts = BlogPosts.page(5, 2_000);
+    BlogPostRepository repository = (BlogPostRepository) Proxy.newProxyInstance(
+        BlogPostRepository.class.getClassLoader(), new Class<?>[]{BlogPostRepository.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("findAll") && args != null && args.length == 1
+              && args[0] instanceof Pageable pageable) {
+            return new PageImpl<>(posts, pageable, 100);
+          }
+          throw new UnsupportedOperationException(method.getName());
+        });
+    blogPostService = new BlogPostServiceImpl(repository, null, event -> { }, 200);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    loginExecutor.destroy();
+  }
+
+  @Benchmark
+  @Group("inline")
+  @GroupThreads(4)
+  public boolean inlineLogin() {
+    return encoder.matches(PASSWORD, hash);
+  }
+
+  @Benchmark
+  @Group("inline")
+  @GroupThreads(4)
+  public byte[] inlineRead() throws Exception {
+    return readPage();
+  }
+
+  @Benchmark
+  @Group("isolated")
+  @GroupThreads(4)
+  public boolean isolatedLogin() {
+    try {
+      return loginExecutor.run(() -> encoder.matches(PASSWORD, hash));
+    }
+    catch (LoginRejectedException e) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  @Group("isolated")
+  @GroupThreads(4)
+  public byte[] isolatedRead() throws Exception {
+    return readPage();
+  }
+
+  private byte[] readPage() throws Exception {
+    Page<BlogPost> blogPostPage = blogPostService.findAllWithFilters(
+        PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")), null, null);
+    List<BlogPostDTO> blogPostDTOs = blogPostPage.getContent().stream().map(blogPostMapper::toDTO).toList();
+    return objectMapper.writeValueAsBytes(new BlogPostPageResponseDTO(blogPostDTOs, blogPostPage.getTotalPages(),
+        blogPostPage.getTotalElements(), blogPostPage.getNumber(), blogPostPage.getSize(), blogPostPage.isFirst(),
+        blogPostPage.isLast(), blogPostPage.hasNext()));
+  }
+}
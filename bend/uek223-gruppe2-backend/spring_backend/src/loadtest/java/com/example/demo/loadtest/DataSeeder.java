@@ -0,0 +1,195 @@
+package com.example.demo.loadtest;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Grows {@code blog_post} to a given size with {@code generate_series}, so millions of rows take
+ * minutes rather than hours. Categories follow a skewed distribution over a fixed list and authors
+ * a long-tailed one over the {@code loadtest-N@example.com} users, which are created with the
+ * password and roles of {@code user@example.com}. Rows are never deleted, so sizes only grow.
+ */
+final class DataSeeder {
+
+  static final String AUTHOR_EMAIL = "loadtest-%d@example.com";
+
+  static final String[] CATEGORIES = {"Technology", "Programming", "Web Development", "DevOps", "Databases",
+      "Security", "Career", "Design", "Testing", "Cloud", "Mobile", "Data Science", "Machine Learning", "Open Source",
+      "Tutorials", "Opinion", "News", "Productivity", "Architecture", "Performance", "Frontend", "Backend", "Tools",
+      "Misc"};
+
+  private static final int ROWS_PER_STATEMENT = 250_000;
+
+  // power(random(), k) piles the draws up at the start of the arrays: the first categories and
+  // authors get most posts and the last ones few
+  private static final String INSERT_POSTS = """
+      insert into blog_post (id, title, text, category, author_id, created_at, updated_at, version)
+      select gen_random_uuid(), 'Load test post ' || g,
+             repeat('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 4 + (random() * 60)::int),
+             (?::text[])[1 + floor(power(random(), 2) * ?)::int],
+             (?::uuid[])[1 + floor(power(random(), 3) * ?)::int],
+             created, created, 0
+      from (select g, localtimestamp - random() * interval '1095 days' as created
+            from generate_series(?::bigint, ?::bigint) g) s
+      """;
+
+  private final String jdbcUrl;
+  private final String username;
+  private final String password;
+
+  DataSeeder(String jdbcUrl, String username, String password) {
+    this.jdbcUrl = jdbcUrl;
+    this.username = username;
+    this.password = password;
+  }
+
+  /**
+   * @return IDs of the load test authors, the first one writing the most posts
+   */
+  List<UUID> ensureAuthors(int authors) throws SQLException {
+    try (Connection connection = connect()) {
+      try (PreparedStatement insert = connection.prepareStatement("""
+          insert into users (id, email, first_name, last_name, password)
+          select gen_random_uuid(), format(?, g), 'Load', 'Tester ' || g, template.password
+          from generate_series(1, ?) g
+          cross join (select password from users where email = 'user@example.com') template
+          on conflict (email) do nothing
+          """)) {
+        insert.setString(1, AUTHOR_EMAIL.replace("%d", "%s"));
+        insert.setInt(2, authors);
+        insert.executeUpdate();
+      }
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate("""
+            insert into users_role (users_id, role_id)
+            select author.id, template.role_id
+            from users author
+            cross join (select role_id from users_role
+                        where users_id = (select id from users where email = 'user@example.com')) template
+            where author.email like 'loadtest-%'
+            on conflict do nothing
+            """);
+      }
+      List<UUID> ids = new ArrayList<>(authors);
+      try (PreparedStatement select = connection.prepareStatement("select id from users where email = ?")) {
+        for (int i = 1; i <= authors; i++) {
+          select.setString(1, String.format(AUTHOR_EMAIL, i));
+          try (ResultSet row = select.executeQuery()) {
+            if (!row.next()) {
+              throw new IllegalStateException("Author " + i + " was not created, is user@example.com seeded?");
+            }
+            ids.add(row.getObject(1, UUID.class));
+          }
+        }
+      }
+      return ids;
+    }
+  }
+
+  long count() throws SQLException {
+    try (Connection connection = connect(); Statement statement = connection.createStatement();
+         ResultSet row = statement.executeQuery("select count(*) from blog_post")) {
+      row.next();
+      return row.getLong(1);
+    }
+  }
+
+  /**
+   * Inserts posts until the table holds {@code size} rows, then recounts the dashboard aggregates
+   * and refreshes the planner statistics.
+   */
+  void growTo(long size, List<UUID> authors) throws SQLException {
+    long current = count();
+    try (Connection connection = connect()) {
+      Array categories = connection.createArrayOf("text", CATEGORIES);
+      Array authorIds = connection.createArrayOf("uuid", authors.toArray());
+      try (PreparedStatement insert = connection.prepareStatement(INSERT_POSTS)) {
+        while (current < size) {
+          long rows = Math.min(ROWS_PER_STATEMENT, size - current);
+          insert.setArray(1, categories);
+          insert.setInt(2, CATEGORIES.length);
+          insert.setArray(3, authorIds);
+          insert.setInt(4, authors.size());
+          insert.setLong(5, current + 1);
+          insert.setLong(6, current + rows);
+          insert.executeUpdate();
+          current += rows;
+          System.out.printf("  seeded %,d / %,d posts%n", current, size);
+        }
+      }
+      recountAggregates(connection);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("vacuum analyze blog_post");
+      }
+    }
+  }
+
+  // Bulk inserts bypass the application events that keep these tables current
+  private static void recountAggregates(Connection connection) throws SQLException {
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("delete from blog_post_category_count");
+      statement.executeUpdate("insert into blog_post_category_count (category, post_count) "
+          + "select category, count(*) from blog_post group by category");
+      statement.executeUpdate("delete from blog_post_author_count");
+      statement.executeUpdate("insert into blog_post_author_count (author_id, post_count) "
+          + "select author_id, count(*) from blog_post group by author_id");
+      statement.executeUpdate("delete from blog_post_daily_count");
+      statement.executeUpdate("insert into blog_post_daily_count (post_day, post_count) "
+          + "select cast(created_at as date), count(*) from blog_post group by cast(created_at as date)");
+      connection.commit();
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  /**
+   * @return Up to {@code limit} IDs spread over the whole table
+   */
+  List<UUID> samplePostIds(int limit) throws SQLException {
+    long size = Math.max(1, count());
+    double percent = Math.min(100, 200.0 * limit / size);
+    try (Connection connection = connect();
+         PreparedStatement select = connection.prepareStatement(
+             "select id from blog_post tablesample bernoulli (cast(? as real)) limit ?")) {
+      select.setDouble(1, percent);
+      select.setInt(2, limit);
+      return ids(select);
+    }
+  }
+
+  List<UUID> postIdsOf(UUID authorId, int limit) throws SQLException {
+    try (Connection connection = connect();
+         PreparedStatement select = connection.prepareStatement(
+             "select id from blog_post where author_id = ? limit ?")) {
+      select.setObject(1, authorId);
+      select.setInt(2, limit);
+      return ids(select);
+    }
+  }
+
+  private static List<UUID> ids(PreparedStatement select) throws SQLException {
+    List<UUID> ids = new ArrayList<>();
+    try (ResultSet rows = select.executeQuery()) {
+      while (rows.next()) {
+        ids.add(rows.getObject(1, UUID.class));
+      }
+    }
+    return ids;
+  }
+
+  private Connection connect() throws SQLException {
+    return DriverManager.getConnection(jdbcUrl, username, password);
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects every response time by operation. A run of a few minutes stays in the low millions
+ * of samples, so they are kept in full and percentiles are exact.
+ */
+final class LatencyRecorder {
+
+  private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+  void record(String operation, long nanos, boolean success) {
+    series.computeIfAbsent(operation, name -> new Series()).add(nanos, success);
+  }
+
+  /**
+   * @return Statistics by operation name, in name order
+   */
+  Map<String, Stats> stats(double seconds) {
+    Map<String, Stats> stats = new LinkedHashMap<>();
+    new TreeMap<>(series).forEach((operation, samples) -> stats.put(operation, samples.stats(seconds)));
+    return stats;
+  }
+
+  record Stats(long requests, long errors, double throughput, double p50Millis, double p90Millis,
+               double p99Millis, double maxMillis) {
+  }
+
+  private static final class Series {
+
+    private long[] nanos = new long[1024];
+    private int size;
+    private long errors;
+
+    synchronized void add(long value, boolean success) {
+      if (size == nanos.length) {
+        nanos = Arrays.copyOf(nanos, size * 2);
+      }
+      nanos[size++] = value;
+      if (!success) {
+        errors++;
+      }
+    }
+
+    synchronized Stats stats(double seconds) {
+      long[] sorted = Arrays.copyOf(nanos, size);
+      Arrays.sort(sorted);
+      return new Stats(size, errors, size / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90),
+          percentile(sorted, 0.99), size == 0 ? 0 : sorted[size - 1] / 1e6);
+    }
+
+    // Nearest rank
+    private static double percentile(long[] sorted, double quantile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(quantile * sorted.length);
+      return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Load test against a running backend and its PostgreSQL database. For every table size the
+ * database is seeded up to that size, then the mixed workload of {@link Workload} runs for a
+ * warmup and a measured period. Throughput and latency percentiles are printed per endpoint and
+ * size, and written as JSON to {@code --out}.
+ * <p>
+ * Options, all optional: {@code --baseUrl}, {@code --jdbcUrl}, {@code --dbUser}, {@code --dbPassword},
+ * {@code --sizes} (comma separated, ascending), {@code --users}, {@code --authors},
+ * {@code --warmupSeconds}, {@code --durationSeconds}, {@code --deepPageMax}, {@code --out}.
+ */
+public final class LoadTest {
+
+  private static final String PASSWORD = "1234";
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = options(args);
+    String baseUrl = options.getOrDefault("baseUrl", "http://localhost:8080");
+    DataSeeder seeder = new DataSeeder(options.getOrDefault("jdbcUrl", "jdbc:postgresql://localhost:5432/postgres"),
+        options.getOrDefault("dbUser", "postgres"), options.getOrDefault("dbPassword", "postgres"));
+    long[] sizes = Arrays.stream(options.getOrDefault("sizes", "100000,1000000,3000000").split(","))
+                         .mapToLong(size -> Long.parseLong(size.trim())).sorted().toArray();
+    int users = Integer.parseInt(options.getOrDefault("users", "32"));
+    int authors = Integer.parseInt(options.getOrDefault("authors", "1000"));
+    Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmupSeconds", "15")));
+    Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("durationSeconds", "60")));
+    long deepPageMax = Long.parseLong(options.getOrDefault("deepPageMax", "20000"));
+    Path out = Path.of(options.getOrDefault("out", "build/loadtest/results.json"));
+
+    HttpClient httpClient = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .connectTimeout(Duration.ofSeconds(5))
+                                      .build();
+    List<UUID> authorIds = seeder.ensureAuthors(authors);
+    Map<Long, Map<String, LatencyRecorder.Stats>> results = new LinkedHashMap<>();
+
+    for (long size : sizes) {
+      long current = seeder.count();
+      if (current > size) {
+        System.out.printf("Skipping %,d posts, the table already holds %,d%n", size, current);
+        continue;
+      }
+      System.out.printf("Seeding up to %,d posts%n", size);
+      seeder.growTo(size, authorIds);
+
+      List<Workload.Session> sessions = new ArrayList<>(users);
+      for (int i = 0; i < users; i++) {
+        int author = i % authors;
+        String email = String.format(DataSeeder.AUTHOR_EMAIL, author + 1);
+        sessions.add(new Workload.Session(email, Workload.login(httpClient, baseUrl, email, PASSWORD),
+            seeder.postIdsOf(authorIds.get(author), 100)));
+      }
+      Workload workload = new Workload(httpClient, baseUrl, PASSWORD, authors, seeder.samplePostIds(10_000),
+          sessions, size, deepPageMax);
+
+      System.out.printf("Warming up for %d s with %d users%n", warmup.toSeconds(), users);
+      workload.run(warmup, new LatencyRecorder());
+      System.out.printf("Measuring for %d s%n", duration.toSeconds());
+      LatencyRecorder recorder = new LatencyRecorder();
+      workload.run(duration, recorder);
+      Map<String, LatencyRecorder.Stats> stats = recorder.stats(duration.toMillis() / 1000.0);
+      results.put(size, stats);
+      print(size, stats);
+    }
+
+    printComparison(results);
+    Files.createDirectories(out.toAbsolutePath().getParent());
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), results);
+    System.out.println("Results written to " + out.toAbsolutePath());
+  }
+
+  private static Map<String, String> options(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    return options;
+  }
+
+  private static void print(long size, Map<String, LatencyRecorder.Stats> stats) {
+    System.out.printf("%n%,d posts%n", size);
+    System.out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+        "p90 ms", "p99 ms", "max ms");
+    stats.forEach((endpoint, s) -> System.out.printf("%-26s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint,
+        s.requests(), s.errors(), s.throughput(), s.p50Millis(), s.p90Millis(), s.p99Millis(), s.maxMillis()));
+  }
+
+  // p99 of every endpoint side by side, to see which ones degrade as the table grows
+  private static void printComparison(Map<Long, Map<String, LatencyRecorder.Stats>> results) {
+    if (results.size() < 2) {
+      return;
+    }
+    System.out.printf("%np99 ms by table size%n%-26s", "endpoint");
+    results.keySet().forEach(size -> System.out.printf(" %12s", String.format("%,d", size)));
+    System.out.println();
+    results.values().stream().flatMap(stats -> stats.keySet().stream()).distinct().sorted().forEach(endpoint -> {
+      System.out.printf("%-26s", endpoint);
+      results.values().forEach(stats -> {
+        LatencyRecorder.Stats s = stats.get(endpoint);
+        System.out.printf(" %12s", s == null ? "-" : String.format("%.1f", s.p99Millis()));
+      });
+      System.out.println();
+    });
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop mixed workload: every virtual user sends its next request as soon as the previous
+ * one is answered. Each user is signed in as one of the load test authors for owner edits and
+ * deletes; anonymous reads are sent without a token.
+ */
+final class Workload {
+
+  private enum Operation {
+    LIST(40), DETAIL(25), DEEP_PAGE(10), LOGIN(5), OWNER_EDIT(15), CREATE_AND_DELETE(5);
+
+    private final int weight;
+
+    Operation(int weight) {
+      this.weight = weight;
+    }
+  }
+
+  private static final int PAGE_SIZE = 5;
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  record Session(String email, String authorization, List<UUID> ownPosts) {
+  }
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final String baseUrl;
+  private final String password;
+  private final int authors;
+  private final List<UUID> postIds;
+  private final List<Session> sessions;
+  private final long tableSize;
+  private final long deepPageMax;
+
+  Workload(HttpClient httpClient, String baseUrl, String password, int authors, List<UUID> postIds,
+           List<Session> sessions, long tableSize, long deepPageMax) {
+    this.httpClient = httpClient;
+    this.baseUrl = baseUrl;
+    this.password = password;
+    this.authors = authors;
+    this.postIds = postIds;
+    this.sessions = sessions;
+    this.tableSize = tableSize;
+    this.deepPageMax = deepPageMax;
+  }
+
+  /**
+   * @return Value for the Authorization header of the given author
+   */
+  static String login(HttpClient httpClient, String baseUrl, String email, String password)
+      throws IOException, InterruptedException {
+    HttpResponse<Void> response = httpClient.send(loginRequest(baseUrl, email, password),
+        HttpResponse.BodyHandlers.discarding());
+    return response.headers().firstValue("Authorization")
+                   .orElseThrow(() -> new IllegalStateException("Login of " + email + " answered "
+                       + response.statusCode()));
+  }
+
+  void run(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+    long deadline = System.nanoTime() + duration.toNanos();
+    ExecutorService users = Executors.newFixedThreadPool(sessions.size());
+    for (int i = 0; i < sessions.size(); i++) {
+      Session session = sessions.get(i);
+      Random random = new Random(i);
+      users.execute(() -> {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+          step(pick(random), session, random, recorder);
+        }
+      });
+    }
+    users.shutdown();
+    if (!users.awaitTermination(duration.toMillis() + TIMEOUT.toMillis() * 2, TimeUnit.MILLISECONDS)) {
+      users.shutdownNow();
+    }
+  }
+
+  private static Operation pick(Random random) {
+    int total = 0;
+    for (Operation operation : Operation.values()) {
+      total += operation.weight;
+    }
+    int draw = random.nextInt(total);
+    for (Operation operation : Operation.values()) {
+      draw -= operation.weight;
+      if (draw < 0) {
+        return operation;
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  private void step(Operation operation, Session session, Random random, LatencyRecorder recorder) {
+    switch (operation) {
+      case LIST -> {
+        String query = "?page=" + random.nextInt(5);
+        if (random.nextInt(3) == 0) {
+          query += "&category=" + URLEncoder.encode(category(random), StandardCharsets.UTF_8);
+        }
+        send("GET /blogpost", get("/blogpost" + query), recorder);
+      }
+      case DETAIL -> {
+        if (!postIds.isEmpty()) {
+          send("GET /blogpost/{id}", get("/blogpost/" + postIds.get(random.nextInt(postIds.size()))), recorder);
+        }
+      }
+      case DEEP_PAGE -> {
+        long pages = Math.max(1, Math.min(deepPageMax, tableSize / PAGE_SIZE));
+        long page = pages / 2 + (long) (random.nextDouble() * (pages - pages / 2));
+        send("GET /blogpost deep page", get("/blogpost?page=" + page), recorder);
+      }
+      case LOGIN -> send("POST /user/login", loginRequest(baseUrl,
+          String.format(DataSeeder.AUTHOR_EMAIL, 1 + random.nextInt(authors)), password), recorder);
+      case OWNER_EDIT -> {
+        if (session.ownPosts().isEmpty()) {
+          return;
+        }
+        UUID id = session.ownPosts().get(random.nextInt(session.ownPosts().size()));
+        send("PUT /blogpost/{id}", authorized(session, "/blogpost/" + id)
+            .PUT(json(post("Edited load test post " + random.nextInt(1_000_000), random))).build(), recorder);
+      }
+      case CREATE_AND_DELETE -> {
+        HttpResponse<String> created = send("POST /blogpost", authorized(session, "/blogpost")
+            .POST(json(post("New load test post " + random.nextInt(1_000_000), random))).build(), recorder);
+        if (created != null && created.statusCode() == 201) {
+          String id = readId(created.body());
+          if (id == null) {
+            return;
+          }
+          send("DELETE /blogpost/{id}", authorized(session, "/blogpost/" + id).DELETE().build(), recorder);
+        }
+      }
+    }
+  }
+
+  private HttpResponse<String> send(String endpoint, HttpRequest request, LatencyRecorder recorder) {
+    long start = System.nanoTime();
+    try {
+      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+      return response;
+    } catch (IOException e) {
+      recorder.record(endpoint, System.nanoTime() - start, false);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+  }
+
+  private HttpRequest.Builder authorized(Session session, String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                      .timeout(TIMEOUT)
+                      .header("Authorization", session.authorization())
+                      .header("Content-Type", "application/json");
+  }
+
+  private static HttpRequest loginRequest(String baseUrl, String email, String password) {
+    String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+    return HttpRequest.newBuilder(URI.create(baseUrl + "/user/login"))
+                      .timeout(TIMEOUT)
+                      .header("Content-Type", "application/json")
+                      .POST(HttpRequest.BodyPublishers.ofString(body))
+                      .build();
+  }
+
+  private HttpRequest.BodyPublisher json(Map<String, String> body) {
+    try {
+      return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, String> post(String title, Random random) {
+    return Map.of("title", title,
+        "text", "Written by the load test. " + "Lorem ipsum dolor sit amet. ".repeat(4 + random.nextInt(40)),
+        "category", category(random));
+  }
+
+  // Same skew as the seeded rows
+  private static String category(Random random) {
+    double draw = random.nextDouble();
+    return DataSeeder.CATEGORIES[(int) (draw * draw * DataSeeder.CATEGORIES.length)];
+  }
+
+  private String readId(String body) {
+    try {
+      return objectMapper.readTree(body).path("id").textValue();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Replaces the auto-configured pool when {@code replica.enabled} is set. The primary is still
+ * configured with {@code spring.datasource.*}, the replicas with {@code replica.urls}. As the pools
+ * are not beans, their metrics and the replica lag are registered here.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                    ReplicaProperties replicaProperties,
+                                                    MeterRegistry meterRegistry) {
+    MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+    HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    primary.setPoolName("primary");
+    primary.setMetricsTrackerFactory(metricsTrackerFactory);
+    String username = StringUtils.hasText(replicaProperties.getUsername())
+        ? replicaProperties.getUsername() : dataSourceProperties.determineUsername();
+    String password = StringUtils.hasText(replicaProperties.getPassword())
+        ? replicaProperties.getPassword() : dataSourceProperties.determinePassword();
+    List<DataSource> replicas = new ArrayList<>();
+    for (String url : replicaProperties.getUrls()) {
+      HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+          .url(url).username(username).password(password).build();
+      replica.setPoolName("replica-" + (replicas.size() + 1));
+      replica.setReadOnly(true);
+      replica.setMetricsTrackerFactory(metricsTrackerFactory);
+      replicas.add(replica);
+    }
+    ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+        replicaProperties.getLagQuery(), replicaProperties.getMaxLagMillis(),
+        replicaProperties.getReadYourWritesMillis());
+    for (DataSource replica : replicas) {
+      String name = ((HikariDataSource) replica).getPoolName();
+      Gauge.builder("replica.lag", routing, source -> source.getLagMillis().getOrDefault(name, -1L))
+           .description("Last measured replay lag, -1 while the replica is unreachable")
+           .baseUnit("milliseconds")
+           .tag("replica", name)
+           .register(meterRegistry);
+    }
+    return routing;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  // An open-in-view session would otherwise hold the connection of its first transaction, primary
+  // or replica, for all of the request's later transactions
+  @Bean
+  HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+    return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.core.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("replica")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReplicaProperties {
+
+  private boolean enabled = false;
+  private List<String> urls = new ArrayList<>();
+  // Blank falls back to spring.datasource.username and password
+  private String username;
+  private String password;
+  private long maxLagMillis = 1_000;
+  private long lagCheckMillis = 1_000;
+  private long readYourWritesMillis = 5_000;
+  // Replay delay of a PostgreSQL standby in milliseconds, 0 once it has replayed everything it received
+  private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+      + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+
+}
@@ -0,0 +1,233 @@
+package com.example.demo.core.datasource;
+
+import com.example.demo.domain.user.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else. It has to sit behind a {@link LazyConnectionDataSourceProxy}, so that the connection is
+ * only taken at the first statement, once the transaction and its read-only flag have begun.
+ * <p>
+ * Replicas are used in turn while their lag, measured every {@code lagCheckMillis}, stays below
+ * {@code maxLagMillis}; without one the primary serves the reads. A user whose write transaction
+ * committed keeps reading from the primary for {@code readYourWritesMillis}. That window is kept
+ * per node, so it relies on the user's requests reaching the same node.
+ * <p>
+ * Reads whose result is shared by all users, like a cache load, run in {@link #afterAnyWrite} and go
+ * to the primary for {@code readYourWritesMillis} after any write transaction on this node, whoever
+ * made it.
+ */
+@Log4j2
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+  private static final ThreadLocal<Boolean> AFTER_ANY_WRITE = new ThreadLocal<>();
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final String lagQuery;
+  private final long maxLagMillis;
+  private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+  private final Cache<String, Boolean> recentWriters;
+  private final long readYourWritesMillis;
+  private volatile long lastWriteMillis;
+  private final AtomicInteger next = new AtomicInteger();
+  private volatile List<Replica> available = List.of();
+
+  public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, long maxLagMillis,
+                                  long readYourWritesMillis) {
+    this.primary = primary;
+    this.replicas = new ArrayList<>(replicas.size());
+    for (DataSource replica : replicas) {
+      this.replicas.add(new Replica("replica-" + (this.replicas.size() + 1), replica, new JdbcTemplate(replica)));
+    }
+    this.lagQuery = lagQuery;
+    this.maxLagMillis = maxLagMillis;
+    this.readYourWritesMillis = readYourWritesMillis;
+    this.recentWriters = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMillis(readYourWritesMillis))
+        .maximumSize(100_000)
+        .build();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Replica replica = route();
+    if (replica != null) {
+      try {
+        return replica.dataSource().getConnection();
+      } catch (SQLException e) {
+        // Left out until the next lag check reaches it again
+        available = available.stream().filter(candidate -> candidate != replica).toList();
+        log.warn("Replica {} is unreachable, reading from the primary", replica.name(), e);
+      }
+    }
+    return primary.getConnection();
+  }
+
+  /**
+   * Runs a read whose result outlives the request and is served to all users, so that it does not
+   * capture a replica's state from before a write that just committed. Without replicas it simply
+   * runs the read.
+   *
+   * @param read Read that starts its own transactions
+   * @return Result of the read
+   */
+  public static <T> T afterAnyWrite(Supplier<T> read) {
+    if (AFTER_ANY_WRITE.get() != null) {
+      return read.get();
+    }
+    AFTER_ANY_WRITE.set(Boolean.TRUE);
+    try {
+      return read.get();
+    } finally {
+      AFTER_ANY_WRITE.remove();
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+  }
+
+  /**
+   * @return Replica for the current transaction or null for the primary
+   */
+  private Replica route() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (TransactionSynchronizationManager.isActualTransactionActive()) {
+        rememberWriter();
+      }
+      return null;
+    }
+    List<Replica> candidates = available;
+    if (candidates.isEmpty()) {
+      return null;
+    }
+    if (AFTER_ANY_WRITE.get() != null && System.currentTimeMillis() - lastWriteMillis < readYourWritesMillis) {
+      return null;
+    }
+    String user = currentUser();
+    if (user != null && recentWriters.getIfPresent(user) != null) {
+      return null;
+    }
+    return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+  }
+
+  // The window also opens at the start of the transaction, for reads that race its commit
+  private void rememberWriter() {
+    String user = currentUser();
+    lastWriteMillis = System.currentTimeMillis();
+    if (user != null) {
+      recentWriters.put(user, Boolean.TRUE);
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          lastWriteMillis = System.currentTimeMillis();
+          if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+          }
+        }
+      });
+    }
+  }
+
+  // By id, as principals rebuilt from stateless tokens carry no email
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    if (authentication.getPrincipal() instanceof UserDetailsImpl principal && principal.user().getId() != null) {
+      return principal.user().getId().toString();
+    }
+    return authentication.getName();
+  }
+
+  @Scheduled(fixedDelayString = "${replica.lagCheckMillis:1000}")
+  public void checkLag() {
+    List<Replica> usable = new ArrayList<>(replicas.size());
+    for (Replica replica : replicas) {
+      Long lag;
+      try {
+        lag = replica.jdbcTemplate().queryForObject(lagQuery, Long.class);
+      } catch (DataAccessException e) {
+        log.debug("Lag check of replica {} failed", replica.name(), e);
+        lag = null;
+      }
+      if (lag == null) {
+        lagMillis.remove(replica.name());
+      } else {
+        lagMillis.put(replica.name(), lag);
+      }
+      boolean wasAvailable = available.contains(replica);
+      if (lag != null && lag <= maxLagMillis) {
+        usable.add(replica);
+        if (!wasAvailable) {
+          log.info("Replica {} is in use, lag {} ms", replica.name(), lag);
+        }
+      } else if (wasAvailable) {
+        log.warn("Replica {} is no longer in use, lag {}", replica.name(), lag == null ? "unknown" : lag + " ms");
+      }
+    }
+    available = List.copyOf(usable);
+  }
+
+  /**
+   * @return Last measured lag by replica name, unreachable replicas are missing
+   */
+  public Map<String, Long> getLagMillis() {
+    Map<String, Long> lags = new LinkedHashMap<>();
+    replicas.forEach(replica -> {
+      Long lag = lagMillis.get(replica.name());
+      if (lag != null) {
+        lags.put(replica.name(), lag);
+      }
+    });
+    return Collections.unmodifiableMap(lags);
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    for (Replica replica : replicas) {
+      if (replica.dataSource() instanceof Closeable closeable) {
+        closeable.close();
+      }
+    }
+    if (primary instanceof Closeable closeable) {
+      closeable.close();
+    }
+  }
+
+  private record Replica(String name, DataSource dataSource, JdbcTemplate jdbcTemplate) {
+  }
+}
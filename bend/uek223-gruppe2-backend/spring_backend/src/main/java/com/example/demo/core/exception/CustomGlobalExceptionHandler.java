@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -66,6 +67,16 @@ public class CustomGlobalExceptionHandler {
         .build();
   }
 
+  @ExceptionHandler({ OptimisticLockingFailureException.class })
+  @ResponseStatus(value = HttpStatus.CONFLICT)
+  public ResponseError handleOptimisticLockingFailure() {
+    Map<String, String> errors = new HashMap<>();
+    errors.put("version", "Element was changed concurrently, reload it and try again");
+    return new ResponseError().setTimeStamp(LocalDate.now())
+        .setErrors(errors)
+        .build();
+  }
+
   @ExceptionHandler({ UsernameNotFoundException.class })
   @ResponseStatus(value = HttpStatus.NOT_FOUND)
   public ResponseError handleUsernameNotFound(Throwable e) {
@@ -2,15 +2,15 @@ package com.example.demo.core.security;
 
 import com.example.demo.core.security.helpers.AuthorizationSchemas;
 import com.example.demo.core.security.helpers.Credentials;
-import com.example.demo.core.security.helpers.JwtProperties;
+import com.example.demo.core.security.jwt.JwtTokenService;
+import com.example.demo.core.security.login.LoginExecutor;
+import com.example.demo.core.security.login.LoginRejectedException;
 import com.example.demo.domain.user.UserDetailsImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
-import java.util.Date;
-import java.util.Map;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -29,40 +29,54 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 @Log4j2
 public class JWTAuthenticationFilter extends AbstractAuthenticationProcessingFilter {
 
-  private final JwtProperties jwtProperties;
+  // ObjectReader is immutable and thread-safe, so one instance serves every login
+  private static final ObjectReader CREDENTIALS_READER = new ObjectMapper().readerFor(Credentials.class);
+
+  private final JwtTokenService jwtTokenService;
+  private final LoginExecutor loginExecutor;
+  private final int retryAfterSeconds;
+  private final MeterRegistry meterRegistry;
 
   public JWTAuthenticationFilter(RequestMatcher requestMatcher, AuthenticationManager authenticationManager,
-                                 JwtProperties jwtProperties) {
+                                 JwtTokenService jwtTokenService, LoginExecutor loginExecutor,
+                                 int retryAfterSeconds, MeterRegistry meterRegistry) {
     super(requestMatcher, authenticationManager);
-    this.jwtProperties = jwtProperties;
+    this.jwtTokenService = jwtTokenService;
+    this.loginExecutor = loginExecutor;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.meterRegistry = meterRegistry;
   }
 
   private String generateToken(Authentication authResult) {
-    UserDetailsImpl userDetailsImpl = (UserDetailsImpl) authResult.getPrincipal();
-    byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-
-    return Jwts.builder()
-               .setClaims(Map.of("sub", userDetailsImpl.user()
-                                                       .getId(), "authorities", userDetailsImpl.getAuthorities()))
-               .setIssuedAt(new Date())
-               .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpirationMillis()))
-               .setIssuer(jwtProperties.getIssuer())
-               .signWith(Keys.hmacShaKeyFor(keyBytes))
-               .compact();
+    return jwtTokenService.generate((UserDetailsImpl) authResult.getPrincipal());
   }
 
   @Override
   public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
       throws AuthenticationException {
+    // Includes the wait for the login pool, which is where overload shows first
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "failure";
     try {
-      Credentials credentials = new ObjectMapper().readValue(request.getInputStream(), Credentials.class);
-      return getAuthenticationManager().authenticate(
-          new UsernamePasswordAuthenticationToken(credentials.getEmail(), credentials.getPassword()));
+      Credentials credentials = CREDENTIALS_READER.readValue(request.getInputStream());
+      UsernamePasswordAuthenticationToken authRequest =
+          new UsernamePasswordAuthenticationToken(credentials.getEmail(), credentials.getPassword());
+      // BCrypt runs on the dedicated login pool so that login bursts cannot starve other requests
+      Authentication authentication = loginExecutor.run(() -> getAuthenticationManager().authenticate(authRequest));
+      outcome = "success";
+      return authentication;
+    }
+    catch (LoginRejectedException e) {
+      outcome = "rejected";
+      throw e;
     }
     catch (IOException e) {
       log.error("Exception while Authentication thrown.", e);
       return null;
     }
+    finally {
+      sample.stop(meterRegistry.timer("security.filter", "filter", "authentication", "outcome", outcome));
+    }
   }
 
   @Override
@@ -75,6 +89,11 @@ public class JWTAuthenticationFilter extends AbstractAuthenticationProcessingFil
   protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                             AuthenticationException failed) {
     SecurityContextHolder.clearContext();
+    if (failed instanceof LoginRejectedException) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      return;
+    }
     response.setStatus(HttpStatus.UNAUTHORIZED.value());
   }
 }
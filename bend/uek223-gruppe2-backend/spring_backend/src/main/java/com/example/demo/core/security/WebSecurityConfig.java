@@ -1,8 +1,15 @@
 package com.example.demo.core.security;
 
 import com.example.demo.core.security.helpers.JwtProperties;
+import com.example.demo.core.security.helpers.LoginProperties;
+import com.example.demo.core.security.jwt.JwtTokenService;
+import com.example.demo.core.security.login.LoginExecutor;
+import com.example.demo.core.security.revocation.TokenRevocationLogoutHandler;
+import com.example.demo.core.security.revocation.TokenRevocationRegistry;
 import com.example.demo.domain.user.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,6 +22,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -29,12 +37,27 @@ public class WebSecurityConfig {
   private final UserService userService;
   private final PasswordEncoder passwordEncoder;
   private final JwtProperties jwtProperties;
+  private final JwtTokenService jwtTokenService;
+  private final LoginExecutor loginExecutor;
+  private final LoginProperties loginProperties;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final TokenRevocationLogoutHandler revocationLogoutHandler;
+  private final MeterRegistry meterRegistry;
 
   @Autowired
-  public WebSecurityConfig(UserService userService, PasswordEncoder passwordEncoder, JwtProperties jwtProperties) {
+  public WebSecurityConfig(UserService userService, PasswordEncoder passwordEncoder, JwtProperties jwtProperties,
+                           JwtTokenService jwtTokenService, LoginExecutor loginExecutor,
+                           LoginProperties loginProperties, TokenRevocationRegistry revocationRegistry,
+                           TokenRevocationLogoutHandler revocationLogoutHandler, MeterRegistry meterRegistry) {
     this.userService = userService;
     this.passwordEncoder = passwordEncoder;
     this.jwtProperties = jwtProperties;
+    this.jwtTokenService = jwtTokenService;
+    this.loginExecutor = loginExecutor;
+    this.loginProperties = loginProperties;
+    this.revocationRegistry = revocationRegistry;
+    this.revocationLogoutHandler = revocationLogoutHandler;
+    this.meterRegistry = meterRegistry;
   }
 
   @Bean
@@ -42,12 +65,19 @@ public class WebSecurityConfig {
     return http.authorizeHttpRequests(
         requests -> requests.requestMatchers(HttpMethod.POST, "/user/login", "/user/register").permitAll()
             .requestMatchers(HttpMethod.GET, "/v3/api-docs", "/v3/api-docs/swagger-config", "/swagger-ui/*").permitAll()
+            .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
             .requestMatchers(HttpMethod.GET, "/blogpost/**").permitAll() // UC4: Public access to read blog posts
             .anyRequest().authenticated())
         .addFilterAfter(new JWTAuthenticationFilter(new AntPathRequestMatcher("/user/login", "POST"),
-            authenticationManager(), jwtProperties), UsernamePasswordAuthenticationFilter.class)
-        .addFilterAfter(new JWTAuthorizationFilter(userService, jwtProperties),
+            authenticationManager(), jwtTokenService, loginExecutor, loginProperties.getRetryAfterSeconds(),
+            meterRegistry),
             UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(new JWTAuthorizationFilter(userService, jwtTokenService, revocationRegistry,
+            jwtProperties.isStateless(), meterRegistry), UsernamePasswordAuthenticationFilter.class)
+        // The frontend calls GET /logout; the token is revoked instead of clearing a session
+        .logout(logout -> logout.logoutRequestMatcher(new AntPathRequestMatcher("/logout", "GET"))
+            .addLogoutHandler(revocationLogoutHandler)
+            .logoutSuccessHandler(new HttpStatusReturningLogoutSuccessHandler()))
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .csrf(csrf -> csrf.disable())
@@ -71,6 +101,7 @@ public class WebSecurityConfig {
     DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
     provider.setPasswordEncoder(passwordEncoder);
     provider.setUserDetailsService(userService);
+    provider.setUserDetailsPasswordService(userService);
     return new ProviderManager(provider);
   }
 
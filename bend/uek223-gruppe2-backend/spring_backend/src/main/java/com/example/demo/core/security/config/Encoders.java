@@ -1,15 +1,25 @@
 package com.example.demo.core.security.config;
 
+import com.example.demo.core.security.helpers.PasswordProperties;
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class Encoders {
+  private static final String BCRYPT = "bcrypt";
+
+  // Hashes without an {id} prefix (e.g. the seeded ones) are matched as bcrypt. Stored hashes
+  // with an outdated prefix or cost are re-encoded on the next successful login.
   @Bean
-  PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  PasswordEncoder passwordEncoder(PasswordProperties passwordProperties) {
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(passwordProperties.getBcryptStrength());
+    DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return encoder;
   }
 }
 
@@ -0,0 +1,14 @@
+package com.example.demo.core.security.config;
+
+import com.example.demo.core.security.permissions.CompiledPermissionExpressionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+
+@Configuration
+public class MethodSecurityConfig {
+  @Bean
+  static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+    return new CompiledPermissionExpressionHandler();
+  }
+}
@@ -18,5 +18,8 @@ public class JwtProperties {
   private long expirationMillis;
   private String issuer;
   private String secret;
+  private long cacheMaxSize = 10_000;
+  // Build the principal from the token claims and only reload the user when its permission version changed
+  private boolean stateless;
 
 }
@@ -0,0 +1,23 @@
+package com.example.demo.core.security.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("login")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class LoginProperties {
+
+  private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  private int queueCapacity = 64;
+  private long timeoutMillis = 5_000;
+  private int retryAfterSeconds = 1;
+
+}
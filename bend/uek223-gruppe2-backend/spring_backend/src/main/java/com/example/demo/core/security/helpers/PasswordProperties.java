@@ -0,0 +1,20 @@
+package com.example.demo.core.security.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("password")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PasswordProperties {
+
+  private int bcryptStrength = 10;
+
+}
@@ -0,0 +1,22 @@
+package com.example.demo.core.security.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("principal-cache")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PrincipalCacheProperties {
+
+  private long maxSize = 10_000;
+  private long ttlSeconds = 300;
+  private long versionTtlSeconds = 5;
+
+}
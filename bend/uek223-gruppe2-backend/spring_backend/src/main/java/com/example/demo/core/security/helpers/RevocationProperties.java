@@ -0,0 +1,24 @@
+package com.example.demo.core.security.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("revocation")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RevocationProperties {
+
+  private long expectedTokens = 100_000;
+  private double falsePositiveRate = 0.01;
+  private long refreshMillis = 5_000;
+  private long refreshOverlapMillis = 60_000;
+  private long purgeMillis = 3_600_000;
+
+}
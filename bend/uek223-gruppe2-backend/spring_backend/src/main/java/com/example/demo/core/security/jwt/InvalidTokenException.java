@@ -0,0 +1,17 @@
+package com.example.demo.core.security.jwt;
+
+/**
+ * Preallocated failure for tokens that cannot be used. The instances carry no stack trace and are
+ * not writable, so rejecting a bad token costs no allocation or stack walk.
+ */
+public final class InvalidTokenException extends RuntimeException {
+
+  public static final InvalidTokenException EXPIRED = new InvalidTokenException("Token has expired");
+  public static final InvalidTokenException INVALID = new InvalidTokenException("Token is invalid");
+  public static final InvalidTokenException REVOKED = new InvalidTokenException("Token has been revoked");
+  public static final InvalidTokenException UNKNOWN_USER = new InvalidTokenException("Token subject does not exist");
+
+  private InvalidTokenException(String message) {
+    super(message, null, false, false);
+  }
+}
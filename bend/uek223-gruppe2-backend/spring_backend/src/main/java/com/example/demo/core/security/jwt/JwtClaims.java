@@ -0,0 +1,18 @@
+package com.example.demo.core.security.jwt;
+
+/**
+ * Short names of the custom claims issued by {@link JwtTokenService}. Together with {@code sub}
+ * they are enough to rebuild the principal without loading the user.
+ */
+public final class JwtClaims {
+
+  /** Bitmask of the granted {@link com.example.demo.core.security.permissions.Permission}s. */
+  public static final String PERMISSIONS = "p";
+  /** Role names of the user. */
+  public static final String ROLES = "r";
+  /** Permission version of the user at the time the token was issued. */
+  public static final String PERMISSION_VERSION = "v";
+
+  private JwtClaims() {
+  }
+}
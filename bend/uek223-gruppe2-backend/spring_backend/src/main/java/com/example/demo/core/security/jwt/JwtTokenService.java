@@ -0,0 +1,189 @@
+package com.example.demo.core.security.jwt;
+
+import com.example.demo.core.security.helpers.AuthorizationSchemas;
+import com.example.demo.core.security.helpers.JwtProperties;
+import com.example.demo.core.security.permissions.PermissionSet;
+import com.example.demo.domain.user.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the HMAC key and the JWT parser, which are built once at startup instead of per request.
+ * Verified tokens are cached by their SHA-256 digest until their {@code exp} claim passes, so a
+ * token that is sent repeatedly only pays for the signature check on its first request. Rejected
+ * tokens are remembered as well and answered with a preallocated {@link InvalidTokenException}.
+ */
+@Component
+public class JwtTokenService {
+
+  private static final String BEARER_PREFIX = AuthorizationSchemas.BEARER + " ";
+  private static final Duration REJECTED_TOKEN_TTL = Duration.ofMinutes(10);
+
+  private final JwtProperties jwtProperties;
+  private final SecretKey signingKey;
+  private final JwtParser parser;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+  private final Cache<String, InvalidTokenException> rejectedTokens;
+
+  @Autowired
+  public JwtTokenService(JwtProperties jwtProperties) {
+    this.jwtProperties = jwtProperties;
+    this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+    this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    this.verifiedTokens = Caffeine.newBuilder()
+                                  .maximumSize(jwtProperties.getCacheMaxSize())
+                                  .expireAfter(new UntilTokenExpires())
+                                  .recordStats()
+                                  .build();
+    this.rejectedTokens = Caffeine.newBuilder()
+                                  .maximumSize(jwtProperties.getCacheMaxSize())
+                                  .expireAfterWrite(REJECTED_TOKEN_TTL)
+                                  .build();
+  }
+
+  public SecretKey getSigningKey() {
+    return signingKey;
+  }
+
+  /**
+   * Issues a token for the given principal. Besides {@code sub} and a random {@code jti} used for
+   * revocation it only carries the compact permission claims from {@link JwtClaims}, which keeps
+   * the Authorization header short.
+   */
+  public String generate(UserDetailsImpl principal) {
+    long now = System.currentTimeMillis();
+    return Jwts.builder()
+               .setClaims(Map.of(JwtClaims.PERMISSIONS, principal.permissions().bits(),
+                   JwtClaims.ROLES, List.copyOf(principal.roleNames()),
+                   JwtClaims.PERMISSION_VERSION, principal.user().getPermissionVersion()))
+               .setSubject(principal.user().getId().toString())
+               .setId(UUID.randomUUID().toString())
+               .setIssuedAt(new Date(now))
+               .setExpiration(new Date(now + jwtProperties.getExpirationMillis()))
+               .setIssuer(jwtProperties.getIssuer())
+               .signWith(signingKey)
+               .compact();
+  }
+
+  /**
+   * Verifies a bearer token and returns its claims. Tokens already verified by this node are
+   * answered from the cache without touching the HMAC.
+   *
+   * @param token Compact JWT, optionally prefixed with the bearer scheme
+   * @return Verified token
+   * @throws InvalidTokenException if the token is malformed, expired or wrongly signed
+   */
+  public VerifiedToken verify(String token) {
+    String compact = token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
+    String digest = digest(compact);
+    VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+    if (cached != null) {
+      if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+        return cached;
+      }
+      throw reject(digest, InvalidTokenException.EXPIRED);
+    }
+    InvalidTokenException rejected = rejectedTokens.getIfPresent(digest);
+    if (rejected != null) {
+      throw rejected;
+    }
+    try {
+      Claims claims = parser.parseClaimsJws(compact).getBody();
+      if (claims.getSubject() == null) {
+        throw reject(digest, InvalidTokenException.INVALID);
+      }
+      long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime()
+          : System.currentTimeMillis() + jwtProperties.getExpirationMillis();
+      UUID userId = UUID.fromString(claims.getSubject());
+      UUID tokenId = claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+      VerifiedToken verified = new VerifiedToken(userId, tokenId, expiresAt, claims, claimedPrincipal(userId, claims));
+      verifiedTokens.put(digest, verified);
+      return verified;
+    }
+    catch (ExpiredJwtException e) {
+      throw reject(digest, InvalidTokenException.EXPIRED);
+    }
+    catch (JwtException | IllegalArgumentException e) {
+      throw reject(digest, InvalidTokenException.INVALID);
+    }
+  }
+
+  private static UserDetailsImpl claimedPrincipal(UUID userId, Claims claims) {
+    Long permissions = claims.get(JwtClaims.PERMISSIONS, Long.class);
+    Long permissionVersion = claims.get(JwtClaims.PERMISSION_VERSION, Long.class);
+    List<?> roles = claims.get(JwtClaims.ROLES, List.class);
+    if (permissions == null || permissionVersion == null || roles == null) {
+      return null;
+    }
+    Set<String> roleNames = new HashSet<>();
+    roles.forEach(role -> roleNames.add(String.valueOf(role)));
+    return UserDetailsImpl.fromClaims(userId, PermissionSet.ofBits(permissions), roleNames, permissionVersion);
+  }
+
+  private InvalidTokenException reject(String digest, InvalidTokenException reason) {
+    verifiedTokens.invalidate(digest);
+    rejectedTokens.put(digest, reason);
+    return reason;
+  }
+
+  public CacheStats getCacheStats() {
+    return verifiedTokens.stats();
+  }
+
+  public long getCacheSize() {
+    return verifiedTokens.estimatedSize();
+  }
+
+  private static String digest(String compact) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(compact.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(hash);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static final class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.core.security.jwt;
+
+import com.example.demo.domain.user.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import java.util.UUID;
+
+/**
+ * Result of a successful signature and expiry check. Instances are cached by
+ * {@link JwtTokenService} and shared between requests, so the claims must be treated as read-only.
+ * {@code claimedPrincipal} is built once from the compact claims and is {@code null} for tokens
+ * issued without them, as is {@code tokenId} for tokens without a {@code jti} claim.
+ */
+public record VerifiedToken(UUID userId, UUID tokenId, long expiresAtMillis, Claims claims,
+                            UserDetailsImpl claimedPrincipal) {
+
+  public boolean hasClaimedPrincipal() {
+    return claimedPrincipal != null;
+  }
+
+  public long permissionVersion() {
+    return claimedPrincipal.user().getPermissionVersion();
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.core.security.login;
+
+import com.example.demo.core.security.helpers.LoginProperties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool that runs the password hashing of logins. Keeping BCrypt off the request threads
+ * caps the CPU a login burst can take from read traffic; once the queue is full further logins are
+ * rejected immediately instead of piling up.
+ */
+@Component
+public class LoginExecutor implements DisposableBean {
+
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final LongAdder rejected = new LongAdder();
+
+  @Autowired
+  public LoginExecutor(LoginProperties loginProperties) {
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(loginProperties.getThreads(), loginProperties.getThreads(), 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(loginProperties.getQueueCapacity()), runnable -> {
+      Thread thread = new Thread(runnable, "login-hash-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }, new ThreadPoolExecutor.AbortPolicy());
+    this.timeoutMillis = loginProperties.getTimeoutMillis();
+  }
+
+  /**
+   * Runs the task on the login pool and waits for its result.
+   *
+   * @throws LoginRejectedException if the queue is full or the task does not finish in time
+   */
+  public <T> T run(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    }
+    catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new LoginRejectedException("Login queue is full");
+    }
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new LoginRejectedException("Login timed out");
+    }
+    catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new LoginRejectedException("Login interrupted");
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
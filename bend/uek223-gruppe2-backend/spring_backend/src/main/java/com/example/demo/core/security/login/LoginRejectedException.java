@@ -0,0 +1,14 @@
+package com.example.demo.core.security.login;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the login executor is saturated or a login does not finish in time. Answered with
+ * 503 instead of 401, since the credentials were never checked.
+ */
+public class LoginRejectedException extends AuthenticationServiceException {
+
+  public LoginRejectedException(String message) {
+    super(message);
+  }
+}
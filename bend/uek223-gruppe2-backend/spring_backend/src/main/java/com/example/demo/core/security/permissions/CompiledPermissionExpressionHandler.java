@@ -0,0 +1,31 @@
+package com.example.demo.core.security.permissions;
+
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Method security expression handler that swaps the evaluation root for a
+ * {@link CompiledPermissionExpressionRoot}, so the existing {@code @PreAuthorize} expressions are
+ * evaluated against the compiled permission model without changing the annotations.
+ */
+public class CompiledPermissionExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+  @Override
+  public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+    StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, mi);
+    MethodSecurityExpressionOperations root = (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+    context.setRootObject(new CompiledPermissionExpressionRoot(root));
+    return context;
+  }
+
+  @Override
+  protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication,
+                                                                             MethodInvocation invocation) {
+    return new CompiledPermissionExpressionRoot(super.createSecurityExpressionRoot(authentication, invocation));
+  }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.core.security.permissions;
+
+import com.example.demo.domain.user.UserDetailsImpl;
+import java.util.Optional;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Expression root for {@code @PreAuthorize} that answers {@code hasAuthority} and {@code hasRole}
+ * from the principal's compiled {@link PermissionSet} and role names. Everything else, and any
+ * principal that is not a {@link UserDetailsImpl}, is delegated to Spring's default root.
+ */
+public class CompiledPermissionExpressionRoot implements MethodSecurityExpressionOperations {
+
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  private final MethodSecurityExpressionOperations delegate;
+
+  public CompiledPermissionExpressionRoot(MethodSecurityExpressionOperations delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean hasAuthority(String authority) {
+    UserDetailsImpl principal = compiledPrincipal();
+    if (principal == null) {
+      return delegate.hasAuthority(authority);
+    }
+    if (authority.startsWith(ROLE_PREFIX)) {
+      return principal.hasRole(authority.substring(ROLE_PREFIX.length()));
+    }
+    Optional<Permission> permission = Permission.fromName(authority);
+    return permission.isPresent() ? principal.has(permission.get()) : delegate.hasAuthority(authority);
+  }
+
+  @Override
+  public boolean hasAnyAuthority(String... authorities) {
+    for (String authority : authorities) {
+      if (hasAuthority(authority)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasRole(String role) {
+    UserDetailsImpl principal = compiledPrincipal();
+    if (principal == null) {
+      return delegate.hasRole(role);
+    }
+    return principal.hasRole(role.startsWith(ROLE_PREFIX) ? role.substring(ROLE_PREFIX.length()) : role);
+  }
+
+  @Override
+  public boolean hasAnyRole(String... roles) {
+    for (String role : roles) {
+      if (hasRole(role)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private UserDetailsImpl compiledPrincipal() {
+    Authentication authentication = delegate.getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl principal) {
+      return principal;
+    }
+    return null;
+  }
+
+  @Override
+  public Authentication getAuthentication() {
+    return delegate.getAuthentication();
+  }
+
+  public Object getPrincipal() {
+    Authentication authentication = delegate.getAuthentication();
+    return authentication != null ? authentication.getPrincipal() : null;
+  }
+
+  @Override
+  public boolean permitAll() {
+    return delegate.permitAll();
+  }
+
+  @Override
+  public boolean denyAll() {
+    return delegate.denyAll();
+  }
+
+  @Override
+  public boolean isAnonymous() {
+    return delegate.isAnonymous();
+  }
+
+  @Override
+  public boolean isAuthenticated() {
+    return delegate.isAuthenticated();
+  }
+
+  @Override
+  public boolean isRememberMe() {
+    return delegate.isRememberMe();
+  }
+
+  @Override
+  public boolean isFullyAuthenticated() {
+    return delegate.isFullyAuthenticated();
+  }
+
+  @Override
+  public boolean hasPermission(Object target, Object permission) {
+    return delegate.hasPermission(target, permission);
+  }
+
+  @Override
+  public boolean hasPermission(Object targetId, String targetType, Object permission) {
+    return delegate.hasPermission(targetId, targetType, permission);
+  }
+
+  @Override
+  public void setFilterObject(Object filterObject) {
+    delegate.setFilterObject(filterObject);
+  }
+
+  @Override
+  public Object getFilterObject() {
+    return delegate.getFilterObject();
+  }
+
+  @Override
+  public void setReturnObject(Object returnObject) {
+    delegate.setReturnObject(returnObject);
+  }
+
+  @Override
+  public Object getReturnObject() {
+    return delegate.getReturnObject();
+  }
+
+  @Override
+  public Object getThis() {
+    return delegate.getThis();
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.core.security.permissions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fixed catalog of the authorities seeded in V2__seed_data.sql. The ordinal of each constant is its
+ * bit in a {@link PermissionSet}, so new authorities must only ever be appended.
+ */
+public enum Permission {
+  USER_CREATE,
+  USER_READ,
+  USER_DEACTIVATE,
+  USER_MODIFY,
+  BLOGPOST_CREATE,
+  BLOGPOST_READ,
+  BLOGPOST_MODIFY,
+  BLOGPOST_DELETE,
+  BLOGPOST_EDIT_OWN,
+  BLOGPOST_DELETE_OWN,
+  BLOGPOST_EDIT_ANY,
+  BLOGPOST_DELETE_ANY;
+
+  private static final Map<String, Permission> BY_NAME = new HashMap<>();
+
+  static {
+    for (Permission permission : values()) {
+      BY_NAME.put(permission.name(), permission);
+    }
+  }
+
+  public long bit() {
+    return 1L << ordinal();
+  }
+
+  public static Optional<Permission> fromName(String name) {
+    return Optional.ofNullable(BY_NAME.get(name));
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.core.security.permissions;
+
+import com.example.demo.domain.authority.Authority;
+import com.example.demo.domain.role.Role;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable bitset over the {@link Permission} catalog. Built once per principal from the role
+ * assignments, after which every permission check is a single mask test.
+ */
+public final class PermissionSet {
+
+  public static final PermissionSet EMPTY = new PermissionSet(0L);
+
+  private final long bits;
+
+  private PermissionSet(long bits) {
+    this.bits = bits;
+  }
+
+  public static PermissionSet ofBits(long bits) {
+    return bits == 0L ? EMPTY : new PermissionSet(bits);
+  }
+
+  public static PermissionSet of(Role role) {
+    long bits = 0L;
+    for (Authority authority : role.getAuthorities()) {
+      bits |= Permission.fromName(authority.getName()).map(Permission::bit).orElse(0L);
+    }
+    return ofBits(bits);
+  }
+
+  public static PermissionSet of(Collection<Role> roles) {
+    long bits = 0L;
+    for (Role role : roles) {
+      bits |= of(role).bits;
+    }
+    return ofBits(bits);
+  }
+
+  public boolean has(Permission permission) {
+    return (bits & permission.bit()) != 0L;
+  }
+
+  public boolean hasAny(Permission... permissions) {
+    for (Permission permission : permissions) {
+      if (has(permission)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public List<Permission> toList() {
+    List<Permission> permissions = new ArrayList<>();
+    for (Permission permission : Permission.values()) {
+      if (has(permission)) {
+        permissions.add(permission);
+      }
+    }
+    return permissions;
+  }
+
+  public long bits() {
+    return bits;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof PermissionSet other && other.bits == bits;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(bits);
+  }
+
+  @Override
+  public String toString() {
+    return "PermissionSet[" + Long.toBinaryString(bits) + "]";
+  }
+}
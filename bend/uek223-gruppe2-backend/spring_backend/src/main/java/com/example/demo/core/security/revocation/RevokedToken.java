@@ -0,0 +1,36 @@
+package com.example.demo.core.security.revocation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "revoked_token", indexes = {@Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+    @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RevokedToken {
+
+  // The jti claim of the revoked token
+  @Id
+  @Column(columnDefinition = "uuid", name = "jti", updatable = false, nullable = false)
+  private UUID jti;
+
+  // Once the token has expired anyway the entry can be purged
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Column(name = "revoked_at", nullable = false)
+  private Instant revokedAt;
+
+}
@@ -0,0 +1,23 @@
+package com.example.demo.core.security.revocation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+  List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfterOrderByRevokedAt(Instant revokedSince,
+                                                                                       Instant notExpiredAt);
+
+  @Transactional
+  @Modifying
+  @Query("delete from RevokedToken t where t.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
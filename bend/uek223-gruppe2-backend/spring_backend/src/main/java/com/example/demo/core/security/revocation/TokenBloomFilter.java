@@ -0,0 +1,69 @@
+package com.example.demo.core.security.revocation;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over token ids. It answers "definitely not revoked" without touching the exact set
+ * for the vast majority of requests. Bits can only be set, so the filter is rebuilt whenever expired
+ * ids are purged.
+ */
+final class TokenBloomFilter {
+
+  private final AtomicLongArray bits;
+  private final int bitCount;
+  private final int hashCount;
+
+  TokenBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m));
+    this.hashCount = (int) Math.max(1, Math.round((double) bitCount / n * Math.log(2)));
+    this.bits = new AtomicLongArray((bitCount + 63) / 64);
+  }
+
+  void put(UUID id) {
+    long h1 = mix(id.getMostSignificantBits());
+    long h2 = mix(id.getLeastSignificantBits() ^ h1);
+    for (int i = 0; i < hashCount; i++) {
+      int bit = index(h1 + i * h2);
+      int word = bit >>> 6;
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = bits.get(word);
+      } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  boolean mightContain(UUID id) {
+    long h1 = mix(id.getMostSignificantBits());
+    long h2 = mix(id.getLeastSignificantBits() ^ h1);
+    for (int i = 0; i < hashCount; i++) {
+      int bit = index(h1 + i * h2);
+      if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int bitCount() {
+    return bitCount;
+  }
+
+  int hashCount() {
+    return hashCount;
+  }
+
+  private int index(long hash) {
+    return (int) ((hash & Long.MAX_VALUE) % bitCount);
+  }
+
+  // Finalizer of SplitMix64
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.core.security.revocation;
+
+import com.example.demo.core.security.helpers.AuthorizationSchemas;
+import com.example.demo.core.security.jwt.InvalidTokenException;
+import com.example.demo.core.security.jwt.JwtTokenService;
+import com.example.demo.core.security.jwt.VerifiedToken;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revokes the bearer token of a logout request. The logout filter runs before the JWT filters, so
+ * the token is read from the header instead of the security context.
+ */
+@Component
+public class TokenRevocationLogoutHandler implements LogoutHandler {
+
+  private final JwtTokenService jwtTokenService;
+  private final TokenRevocationRegistry revocationRegistry;
+
+  @Autowired
+  public TokenRevocationLogoutHandler(JwtTokenService jwtTokenService, TokenRevocationRegistry revocationRegistry) {
+    this.jwtTokenService = jwtTokenService;
+    this.revocationRegistry = revocationRegistry;
+  }
+
+  @Override
+  public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+    String authToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authToken == null || !authToken.startsWith(AuthorizationSchemas.BEARER + " ")) {
+      return;
+    }
+    try {
+      VerifiedToken verified = jwtTokenService.verify(authToken);
+      if (verified.tokenId() != null) {
+        revocationRegistry.revoke(verified.tokenId(), Instant.ofEpochMilli(verified.expiresAtMillis()));
+      }
+    }
+    catch (InvalidTokenException e) {
+      // Nothing to revoke
+    }
+  }
+}
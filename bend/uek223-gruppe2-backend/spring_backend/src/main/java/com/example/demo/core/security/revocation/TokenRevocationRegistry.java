@@ -0,0 +1,113 @@
+package com.example.demo.core.security.revocation;
+
+import com.example.demo.core.security.helpers.RevocationProperties;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Node-local mirror of the {@code revoked_token} table. Lookups are answered by a Bloom filter and
+ * only hit the exact set on a possible match, so checking every authenticated request stays O(1)
+ * and never touches the database. The mirror pulls new revocations incrementally by
+ * {@code revoked_at}, re-reading a short overlap window so that rows committed late by another
+ * node are not missed.
+ */
+@Log4j2
+@Component
+public class TokenRevocationRegistry {
+
+  private final RevokedTokenRepository repository;
+  private final RevocationProperties properties;
+  private final Clock clock;
+  private final Map<UUID, Instant> revoked = new ConcurrentHashMap<>();
+  private volatile TokenBloomFilter bloomFilter;
+  private volatile Instant watermark = Instant.EPOCH;
+
+  @Autowired
+  public TokenRevocationRegistry(RevokedTokenRepository repository, RevocationProperties properties) {
+    this(repository, properties, Clock.systemUTC());
+  }
+
+  TokenRevocationRegistry(RevokedTokenRepository repository, RevocationProperties properties, Clock clock) {
+    this.repository = repository;
+    this.properties = properties;
+    this.clock = clock;
+    this.bloomFilter = newBloomFilter();
+  }
+
+  public boolean isRevoked(UUID tokenId) {
+    return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+  }
+
+  /**
+   * Revokes a token on all nodes. It takes effect on this node immediately and on the others with
+   * their next refresh.
+   *
+   * @param tokenId   jti claim of the token
+   * @param expiresAt Expiry of the token, after which the entry is purged
+   */
+  public void revoke(UUID tokenId, Instant expiresAt) {
+    Instant now = clock.instant();
+    if (!expiresAt.isAfter(now)) {
+      return;
+    }
+    repository.save(new RevokedToken(tokenId, expiresAt, now));
+    add(tokenId, expiresAt);
+  }
+
+  @Scheduled(fixedDelayString = "${revocation.refreshMillis:5000}")
+  public void refresh() {
+    Instant now = clock.instant();
+    Instant since = watermark.equals(Instant.EPOCH) ? Instant.EPOCH
+        : watermark.minusMillis(properties.getRefreshOverlapMillis());
+    List<RevokedToken> tokens =
+        repository.findByRevokedAtGreaterThanEqualAndExpiresAtAfterOrderByRevokedAt(since, now);
+    for (RevokedToken token : tokens) {
+      add(token.getJti(), token.getExpiresAt());
+    }
+    if (!tokens.isEmpty()) {
+      Instant latest = tokens.get(tokens.size() - 1).getRevokedAt();
+      if (latest.isAfter(watermark)) {
+        watermark = latest;
+      }
+    }
+  }
+
+  /**
+   * Drops expired entries from the table and from this node. The Bloom filter cannot forget ids,
+   * so it is rebuilt from the remaining entries.
+   */
+  @Scheduled(fixedDelayString = "${revocation.purgeMillis:3600000}",
+             initialDelayString = "${revocation.purgeMillis:3600000}")
+  public synchronized void purge() {
+    Instant now = clock.instant();
+    int deleted = repository.deleteExpired(now);
+    revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    TokenBloomFilter rebuilt = newBloomFilter();
+    revoked.keySet().forEach(rebuilt::put);
+    bloomFilter = rebuilt;
+    log.debug("Purged {} expired revocations, {} remain", deleted, revoked.size());
+  }
+
+  public int size() {
+    return revoked.size();
+  }
+
+  // Synchronized with purge so that no id is added to a filter that is about to be replaced. Lookups
+  // stay lock-free: the filter is written first, so an id found in the set also passes the filter
+  private synchronized void add(UUID tokenId, Instant expiresAt) {
+    bloomFilter.put(tokenId);
+    revoked.put(tokenId, expiresAt);
+  }
+
+  private TokenBloomFilter newBloomFilter() {
+    return new TokenBloomFilter(properties.getExpectedTokens(), properties.getFalsePositiveRate());
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Posts affected by a bulk moderation operation. Criteria that are not set do not restrict the
+ * selection, the set ones all have to match.
+ *
+ * @param ids           Explicit post IDs
+ * @param authorId      Author of the posts
+ * @param category      Category of the posts
+ * @param createdBefore Exclusive upper bound of the creation time
+ */
+public record BlogPostBulkFilter(Collection<UUID> ids, UUID authorId, String category, LocalDateTime createdBefore) {
+
+  public boolean isEmpty() {
+    return (ids == null || ids.isEmpty()) && authorId == null && (category == null || category.isBlank())
+        && createdBefore == null;
+  }
+
+  public BlogPostBulkFilter withIds(Collection<UUID> ids) {
+    return new BlogPostBulkFilter(ids, authorId, category, createdBefore);
+  }
+}
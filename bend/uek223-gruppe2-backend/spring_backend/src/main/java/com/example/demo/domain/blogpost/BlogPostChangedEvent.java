@@ -0,0 +1,28 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by {@link BlogPostServiceImpl} whenever a post is created, updated or deleted, so that
+ * derived state such as cached totals can follow without querying the table.
+ *
+ * @param type             Kind of change
+ * @param id               Post ID
+ * @param category         Category after the change (before it for deletions)
+ * @param previousCategory Category before an update, otherwise null
+ * @param authorId         Author of the post
+ * @param title            Title after the change (before it for deletions)
+ * @param createdAt        Creation time of the post
+ */
+public record BlogPostChangedEvent(Type type, UUID id, String category, String previousCategory, UUID authorId,
+                                   String title, LocalDateTime createdAt) {
+
+  public enum Type {
+    CREATED, UPDATED, DELETED
+  }
+
+  public boolean categoryChanged() {
+    return type == Type.UPDATED && !category.equals(previousCategory);
+  }
+}
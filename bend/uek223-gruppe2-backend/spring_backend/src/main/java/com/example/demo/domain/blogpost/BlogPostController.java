@@ -1,9 +1,16 @@
 package com.example.demo.domain.blogpost;
 
+import com.example.demo.core.security.permissions.Permission;
+import com.example.demo.domain.blogpost.dto.BlogPostBulkDeleteDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostBulkRecategorizeDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostBulkResultDTO;
 import com.example.demo.domain.blogpost.dto.BlogPostCreateDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostCursorResponseDTO;
 import com.example.demo.domain.blogpost.dto.BlogPostDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostImportResultDTO;
 import com.example.demo.domain.blogpost.dto.BlogPostMapper;
 import com.example.demo.domain.blogpost.dto.BlogPostPageResponseDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostSuggestionDTO;
 import com.example.demo.domain.blogpost.dto.BlogPostUpdateDTO;
 import com.example.demo.domain.user.User;
 import com.example.demo.domain.user.UserDetailsImpl;
@@ -15,20 +22,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -38,16 +55,29 @@ import java.util.stream.Collectors;
 @Tag(name = "Blog Posts", description = "Blog post management APIs")
 public class BlogPostController {
 
+  // Reads may be stored by clients and proxies but are revalidated with If-None-Match every time
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
   private final BlogPostService blogPostService;
   private final BlogPostMapper blogPostMapper;
-  private final com.example.demo.core.security.permissionevaluators.BlogPostPermissionEvaluator blogPostPermissionEvaluator;
+  private final BlogPostTotalsService blogPostTotalsService;
+  private final BlogPostPageCache blogPostPageCache;
+  private final BlogPostSuggestService blogPostSuggestService;
+  private final BlogPostImportService blogPostImportService;
+  private final BlogPostModerationService blogPostModerationService;
 
   @Autowired
   public BlogPostController(BlogPostService blogPostService, BlogPostMapper blogPostMapper,
-      com.example.demo.core.security.permissionevaluators.BlogPostPermissionEvaluator blogPostPermissionEvaluator) {
+      BlogPostTotalsService blogPostTotalsService, BlogPostPageCache blogPostPageCache,
+      BlogPostSuggestService blogPostSuggestService, BlogPostImportService blogPostImportService,
+      BlogPostModerationService blogPostModerationService) {
     this.blogPostService = blogPostService;
     this.blogPostMapper = blogPostMapper;
-    this.blogPostPermissionEvaluator = blogPostPermissionEvaluator;
+    this.blogPostTotalsService = blogPostTotalsService;
+    this.blogPostPageCache = blogPostPageCache;
+    this.blogPostSuggestService = blogPostSuggestService;
+    this.blogPostImportService = blogPostImportService;
+    this.blogPostModerationService = blogPostModerationService;
   }
 
   // UC1: User creates new blog post
@@ -68,7 +98,8 @@ public class BlogPostController {
 
   @Operation
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Successfully retrieved blog posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostPageResponseDTO.class)))
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved blog posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostPageResponseDTO.class))),
+      @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match")
   })
   @GetMapping({ "", "/" })
   public ResponseEntity<BlogPostPageResponseDTO> getAllBlogPosts(
@@ -77,62 +108,198 @@ public class BlogPostController {
       @Parameter(description = "Sort field: 'date', 'title', or 'category'") @RequestParam(defaultValue = "date") String sortBy,
       @Parameter(description = "Sort order: 'asc' or 'desc'") @RequestParam(defaultValue = "desc") String sortOrder,
       @Parameter(description = "Optional filter by category") @RequestParam(required = false) String category,
-      @Parameter(description = "Optional filter by author ID") @RequestParam(required = false) UUID authorId) {
+      @Parameter(description = "Optional filter by author ID") @RequestParam(required = false) UUID authorId,
+      @Parameter(description = "Totals: 'exact' (count query), 'cached' (in-memory counts) or 'none'") @RequestParam(defaultValue = "exact") String totals,
+      @Parameter(description = "Optional comma separated fields to return, e.g. 'title,author'") @RequestParam(required = false) String fields,
+      @Parameter(description = "Optional view: 'summary' returns an excerpt instead of the text") @RequestParam(required = false) String view) {
 
     // UC4: Enforce 5 posts per page
     size = 5;
 
     // UC4: Create Sort object based on sortBy and sortOrder
     Sort.Direction direction = sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
-    Sort sort;
-
+    BlogPostSortField sortField = BlogPostSortField.fromParam(sortBy);
     // Map sortBy to actual entity fields
-    switch (sortBy.toLowerCase()) {
-      case "title":
-        sort = Sort.by(direction, "title");
-        break;
-      case "category":
-        sort = Sort.by(direction, "category");
-        break;
-      case "date":
-      default:
-        sort = Sort.by(direction, "createdAt");
-        break;
-    }
+    Sort sort = Sort.by(direction, sortField.property());
 
     Pageable pageable = PageRequest.of(page, size, sort);
+    Set<BlogPostField> fieldSet = BlogPostField.parse(fields, view);
+
+    if (fieldSet != null || !totals.equalsIgnoreCase("exact")) {
+      Slice<BlogPostDTO> slice;
+      List<LocalDateTime> versions;
+      if (fieldSet != null) {
+        Slice<BlogPostProjection> projections =
+            blogPostService.findProjected(fieldSet, sortField, direction, category, authorId, null, page, size);
+        slice = projections.map(BlogPostProjection::dto);
+        versions = projections.map(BlogPostProjection::version).getContent();
+      } else {
+        slice = blogPostService.findSliceWithFilters(pageable, category, authorId).map(blogPostMapper::toDTO);
+        versions = slice.map(BlogPostDTO::getUpdatedAt).getContent();
+      }
+      long total = switch (totals.toLowerCase()) {
+        case "none" -> -1;
+        // Cached totals are not available until the first reconciliation, so count exactly until then
+        case "cached" -> blogPostTotalsService.total(category, authorId)
+                                              .orElseGet(() -> blogPostService.countWithFilters(category, authorId));
+        default -> blogPostService.countWithFilters(category, authorId);
+      };
+      BlogPostVersion version = new BlogPostVersion(fieldSet != null ? fieldSet : "full", total, slice.hasNext());
+      for (int i = 0; i < slice.getNumberOfElements(); i++) {
+        version.add(slice.getContent().get(i).getId(), versions.get(i));
+      }
+      return conditional(toSliceResponse(slice, total), version.etag(), version.lastModifiedMillis());
+    }
+
+    // UC4: Get paginated and filtered results, built once and shared by all readers of the page
+    BlogPostPageCache.CachedPage cached = blogPostPageCache.get(page, sortField, direction, category, authorId);
+    return conditional(cached.response(), cached.etag(), cached.lastModifiedMillis());
+  }
+
+  /**
+   * 200 response carrying validators. For a matching If-None-Match or If-Modified-Since, Spring
+   * answers 304 from these headers without serializing the body.
+   */
+  private static <T> ResponseEntity<T> conditional(T body, String etag, long lastModifiedMillis) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE);
+    if (lastModifiedMillis >= 0) {
+      builder.lastModified(lastModifiedMillis);
+    }
+    return builder.body(body);
+  }
+
+  private BlogPostPageResponseDTO toSliceResponse(Slice<BlogPostDTO> slice, long totalElements) {
+    int totalPages = totalElements < 0 ? -1 : (int) ((totalElements + slice.getSize() - 1) / slice.getSize());
+    return new BlogPostPageResponseDTO(
+        slice.getContent(),
+        totalPages,
+        totalElements,
+        slice.getNumber(),
+        slice.getSize(),
+        slice.isFirst(),
+        slice.isLast(),
+        slice.hasNext());
+  }
+
+  // UC4: Keyset mode, selected by the presence of the cursor parameter (empty for the first page)
+  @Operation(summary = "List blog posts by cursor", description = "UC4: Same filters and sorting as the page-number mode, but seeks past the cursor instead of skipping rows, so deep pages cost the same as the first.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved blog posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostCursorResponseDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or cursor issued for a different sort")
+  })
+  @GetMapping(value = { "", "/" }, params = "cursor")
+  public ResponseEntity<BlogPostCursorResponseDTO> getBlogPostsByCursor(
+      @Parameter(description = "Cursor from the previous response, empty for the first page") @RequestParam String cursor,
+      @Parameter(description = "Sort field: 'date', 'title', or 'category'") @RequestParam(defaultValue = "date") String sortBy,
+      @Parameter(description = "Sort order: 'asc' or 'desc'") @RequestParam(defaultValue = "desc") String sortOrder,
+      @Parameter(description = "Optional filter by category") @RequestParam(required = false) String category,
+      @Parameter(description = "Optional filter by author ID") @RequestParam(required = false) UUID authorId,
+      @Parameter(description = "Optional comma separated fields to return, e.g. 'title,author'") @RequestParam(required = false) String fields,
+      @Parameter(description = "Optional view: 'summary' returns an excerpt instead of the text") @RequestParam(required = false) String view) {
+
+    // UC4: Enforce 5 posts per page
+    int size = 5;
+    BlogPostSortField sortField = BlogPostSortField.fromParam(sortBy);
+    Sort.Direction direction = sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
 
-    // UC4: Get paginated and filtered results
-    Page<BlogPost> blogPostPage = blogPostService.findAllWithFilters(pageable, category, authorId);
+    BlogPostCursor after = null;
+    if (!cursor.isBlank()) {
+      after = BlogPostCursor.decode(cursor);
+      if (after.sortField() != sortField || after.direction() != direction) {
+        throw new IllegalArgumentException("Cursor was issued for a different sort");
+      }
+    }
 
-    // Convert to DTOs
-    List<BlogPostDTO> blogPostDTOs = blogPostPage.getContent().stream()
+    Set<BlogPostField> fieldSet = BlogPostField.parse(fields, view);
+    List<BlogPostDTO> blogPostDTOs;
+    BlogPostCursor last = null;
+    boolean hasNext;
+    if (fieldSet != null) {
+      Slice<BlogPostProjection> slice =
+          blogPostService.findProjected(fieldSet, sortField, direction, category, authorId, after, 0, size);
+      blogPostDTOs = slice.map(BlogPostProjection::dto).getContent();
+      hasNext = slice.hasNext();
+      if (hasNext) {
+        last = slice.getContent().get(slice.getNumberOfElements() - 1).cursor(sortField, direction);
+      }
+    } else {
+      Slice<BlogPost> slice = blogPostService.findAllAfter(sortField, direction, category, authorId, after, size);
+      blogPostDTOs = slice.getContent().stream()
+          .map(blogPostMapper::toDTO)
+          .collect(Collectors.toList());
+      hasNext = slice.hasNext();
+      if (hasNext) {
+        last = BlogPostCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1), sortField, direction);
+      }
+    }
+    String nextCursor = last != null ? last.encode() : null;
+
+    return new ResponseEntity<>(new BlogPostCursorResponseDTO(blogPostDTOs, nextCursor, size, hasNext),
+        HttpStatus.OK);
+  }
+
+  @Operation(summary = "Search blog posts", description = "Full-text search over title and text, best matches first. Supports \"quoted phrases\", or and -excluded terms. Pages by cursor like the keyset listing.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Matching blog posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostCursorResponseDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Missing query or invalid cursor")
+  })
+  @GetMapping("/search")
+  public ResponseEntity<BlogPostCursorResponseDTO> searchBlogPosts(
+      @Parameter(description = "Search terms") @RequestParam @NotBlank @Size(max = 200) String q,
+      @Parameter(description = "Cursor from the previous response, omitted for the first page") @RequestParam(required = false) String cursor) {
+
+    // UC4: Enforce 5 posts per page
+    int size = 5;
+    BlogPostSearchCursor after = cursor == null || cursor.isBlank() ? null : BlogPostSearchCursor.decode(cursor);
+    BlogPostSearchResult result = blogPostService.search(q, after, size);
+
+    List<BlogPostDTO> blogPostDTOs = result.blogPosts().stream()
         .map(blogPostMapper::toDTO)
         .collect(Collectors.toList());
+    String nextCursor = result.next() != null ? result.next().encode() : null;
+    return new ResponseEntity<>(new BlogPostCursorResponseDTO(blogPostDTOs, nextCursor, size, nextCursor != null),
+        HttpStatus.OK);
+  }
 
-    // Create paginated response
-    BlogPostPageResponseDTO response = new BlogPostPageResponseDTO(
-        blogPostDTOs,
-        blogPostPage.getTotalPages(),
-        blogPostPage.getTotalElements(),
-        blogPostPage.getNumber(),
-        blogPostPage.getSize(),
-        blogPostPage.isFirst(),
-        blogPostPage.isLast());
+  @Operation(summary = "Suggest titles or categories", description = "Autocomplete from an in-memory index: titles or categories starting with the prefix (case and accents ignored), newest first.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Suggestions"),
+      @ApiResponse(responseCode = "400", description = "Unknown type or limit out of range")
+  })
+  @GetMapping("/suggest")
+  public ResponseEntity<List<BlogPostSuggestionDTO>> suggest(
+      @Parameter(description = "Typed prefix, empty for the newest entries") @RequestParam(defaultValue = "") @Size(max = 100) String prefix,
+      @Parameter(description = "'title' or 'category'") @RequestParam(defaultValue = "title") String type,
+      @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") @Min(1) @Max(20) int limit) {
 
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    List<PrefixIndex.Entry> entries = switch (type.toLowerCase()) {
+      case "title" -> blogPostSuggestService.suggestTitles(prefix, limit);
+      case "category" -> blogPostSuggestService.suggestCategories(prefix, limit);
+      default -> throw new IllegalArgumentException("Unknown suggestion type: " + type);
+    };
+    return new ResponseEntity<>(entries.stream()
+        .map(entry -> new BlogPostSuggestionDTO(entry.id(), entry.text()))
+        .collect(Collectors.toList()), HttpStatus.OK);
   }
 
   @Operation
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved blog post", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostDTO.class))),
+      @ApiResponse(responseCode = "304", description = "Blog post unchanged since the ETag sent in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Blog post not found")
   })
   @GetMapping("/{id}")
   public ResponseEntity<BlogPostDTO> getBlogPostById(
-      @Parameter(description = "Blog post ID") @PathVariable UUID id) {
+      @Parameter(description = "Blog post ID") @PathVariable UUID id, WebRequest webRequest) {
+    // Revalidation only reads updatedAt, the post is loaded and mapped once it has changed
+    LocalDateTime updatedAt = blogPostService.findUpdatedAt(id)
+        .orElseThrow(() -> new NoSuchElementException(String.format("Entity with ID '%s' could not be found", id)));
+    if (webRequest.checkNotModified(BlogPostVersion.etag(id, updatedAt), BlogPostVersion.epochMillis(updatedAt))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+    }
     BlogPost blogPost = blogPostService.findById(id);
-    return new ResponseEntity<>(blogPostMapper.toDTO(blogPost), HttpStatus.OK);
+    return conditional(blogPostMapper.toDTO(blogPost), BlogPostVersion.etag(id, blogPost.getUpdatedAt()),
+        BlogPostVersion.epochMillis(blogPost.getUpdatedAt()));
   }
 
   // UC2: User edits own blog post
@@ -141,7 +308,8 @@ public class BlogPostController {
       @ApiResponse(responseCode = "200", description = "Blog post updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostDTO.class))),
       @ApiResponse(responseCode = "400", description = "Validation failed"),
       @ApiResponse(responseCode = "403", description = "User is not the owner"),
-      @ApiResponse(responseCode = "404", description = "Blog post not found")
+      @ApiResponse(responseCode = "404", description = "Blog post not found"),
+      @ApiResponse(responseCode = "409", description = "Blog post was changed since the given version was read")
   })
   @PutMapping("/{id}")
   @PreAuthorize("hasAuthority('BLOGPOST_EDIT_ANY') or hasAuthority('BLOGPOST_EDIT_OWN')")
@@ -150,14 +318,11 @@ public class BlogPostController {
       @Valid @RequestBody BlogPostUpdateDTO blogPostUpdateDTO,
       Authentication authentication) {
 
-    boolean canEditAny = authentication.getAuthorities().stream()
-        .anyMatch(a -> a.getAuthority().equals("BLOGPOST_EDIT_ANY"));
-
-    if (!canEditAny && !blogPostPermissionEvaluator.isOwner(id)) {
-      throw new AccessDeniedException("Access denied");
-    }
+    UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+    // Ownership is checked by the update itself
+    UUID ownerId = userDetails.has(Permission.BLOGPOST_EDIT_ANY) ? null : userDetails.user().getId();
 
-    BlogPost updatedBlogPost = blogPostService.updateBlogPost(id, blogPostUpdateDTO);
+    BlogPost updatedBlogPost = blogPostService.updateBlogPost(id, blogPostUpdateDTO, ownerId);
     return new ResponseEntity<>(blogPostMapper.toDTO(updatedBlogPost), HttpStatus.OK);
   }
 
@@ -167,7 +332,8 @@ public class BlogPostController {
       @ApiResponse(responseCode = "200", description = "Blog post updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostDTO.class))),
       @ApiResponse(responseCode = "400", description = "Validation failed"),
       @ApiResponse(responseCode = "403", description = "User is not admin"),
-      @ApiResponse(responseCode = "404", description = "Blog post not found")
+      @ApiResponse(responseCode = "404", description = "Blog post not found"),
+      @ApiResponse(responseCode = "409", description = "Blog post was changed since the given version was read")
   })
   @PutMapping("/admin/{id}")
   @PreAuthorize("hasAuthority('BLOGPOST_MODIFY')")
@@ -175,22 +341,21 @@ public class BlogPostController {
       @Parameter(description = "Blog post ID") @PathVariable UUID id,
       @Valid @RequestBody BlogPostUpdateDTO blogPostUpdateDTO) {
 
-    BlogPost updatedBlogPost = blogPostService.updateBlogPost(id, blogPostUpdateDTO);
+    BlogPost updatedBlogPost = blogPostService.updateBlogPost(id, blogPostUpdateDTO, null);
     return new ResponseEntity<>(blogPostMapper.toDTO(updatedBlogPost), HttpStatus.OK);
   }
 
   // UC3: User deletes own blog post
   @DeleteMapping("/{id}")
   @PreAuthorize("hasAuthority('BLOGPOST_DELETE_ANY') or hasAuthority('BLOGPOST_DELETE_OWN')")
-  public ResponseEntity<Void> deleteBlogPost(@PathVariable UUID id, Authentication authentication) {
-    boolean canDeleteAny = authentication.getAuthorities().stream()
-        .anyMatch(a -> a.getAuthority().equals("BLOGPOST_DELETE_ANY"));
-
-    if (!canDeleteAny && !blogPostPermissionEvaluator.isOwner(id)) {
-      throw new AccessDeniedException("Access denied");
-    }
+  public ResponseEntity<Void> deleteBlogPost(
+      @PathVariable UUID id,
+      @Parameter(description = "Optional version the client read") @RequestParam(required = false) Long version,
+      Authentication authentication) {
+    UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+    UUID ownerId = userDetails.has(Permission.BLOGPOST_DELETE_ANY) ? null : userDetails.user().getId();
 
-    blogPostService.deleteById(id);
+    blogPostService.deleteBlogPost(id, version, ownerId);
     return new ResponseEntity<>(HttpStatus.NO_CONTENT);
   }
 
@@ -199,14 +364,60 @@ public class BlogPostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "204", description = "Blog post deleted successfully"),
       @ApiResponse(responseCode = "403", description = "User is not admin"),
-      @ApiResponse(responseCode = "404", description = "Blog post not found")
+      @ApiResponse(responseCode = "404", description = "Blog post not found"),
+      @ApiResponse(responseCode = "409", description = "Blog post was changed since the given version was read")
   })
   @DeleteMapping("/admin/{id}")
   @PreAuthorize("hasAuthority('BLOGPOST_MODIFY')")
   public ResponseEntity<Void> adminDeleteBlogPost(
-      @Parameter(description = "Blog post ID") @PathVariable UUID id) {
-    blogPostService.deleteById(id);
+      @Parameter(description = "Blog post ID") @PathVariable UUID id,
+      @Parameter(description = "Optional version the client read") @RequestParam(required = false) Long version) {
+    blogPostService.deleteBlogPost(id, version, null);
     return new ResponseEntity<>(HttpStatus.NO_CONTENT);
   }
 
+  @Operation(summary = "Admin deletes blog posts in bulk", description = "Deletes the posts with the given IDs and/or matching author, category and createdBefore, in chunks of one transaction each")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Number of deleted posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostBulkResultDTO.class))),
+      @ApiResponse(responseCode = "400", description = "No criterion given"),
+      @ApiResponse(responseCode = "403", description = "User is not admin")
+  })
+  @PostMapping("/admin/bulk-delete")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BlogPostBulkResultDTO> adminBulkDeleteBlogPosts(
+      @Valid @RequestBody BlogPostBulkDeleteDTO bulkDeleteDTO) {
+    BlogPostBulkFilter filter = new BlogPostBulkFilter(bulkDeleteDTO.getIds(), bulkDeleteDTO.getAuthorId(),
+        bulkDeleteDTO.getCategory(), bulkDeleteDTO.getCreatedBefore());
+    return new ResponseEntity<>(blogPostModerationService.delete(filter), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Admin re-categorizes blog posts in bulk", description = "Moves the posts matching author, category and createdBefore to a new category, in chunks of one transaction each")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Number of moved posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostBulkResultDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Validation failed or no filter given"),
+      @ApiResponse(responseCode = "403", description = "User is not admin")
+  })
+  @PostMapping("/admin/bulk-recategorize")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BlogPostBulkResultDTO> adminBulkRecategorizeBlogPosts(
+      @Valid @RequestBody BlogPostBulkRecategorizeDTO bulkRecategorizeDTO) {
+    BlogPostBulkFilter filter = new BlogPostBulkFilter(null, bulkRecategorizeDTO.getAuthorId(),
+        bulkRecategorizeDTO.getCategory(), bulkRecategorizeDTO.getCreatedBefore());
+    return new ResponseEntity<>(
+        blogPostModerationService.recategorize(filter, bulkRecategorizeDTO.getNewCategory()), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Admin imports blog posts", description = "Streams newline-delimited JSON with one post per line: title, text and category as for creation, optionally authorId and createdAt. Lines that fail validation are reported and skipped, the others are imported.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BlogPostImportResultDTO.class))),
+      @ApiResponse(responseCode = "403", description = "User is not admin")
+  })
+  @PostMapping(value = "/admin/import", consumes = "application/x-ndjson")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BlogPostImportResultDTO> importBlogPosts(InputStream body, Authentication authentication)
+      throws IOException {
+    UserDetailsImpl importer = (UserDetailsImpl) authentication.getPrincipal();
+    return new ResponseEntity<>(blogPostImportService.importNdjson(body, importer.user().getId()), HttpStatus.OK);
+  }
+
 }
@@ -0,0 +1,15 @@
+package com.example.demo.domain.blogpost;
+
+import java.util.UUID;
+
+/**
+ * Projection of the per (category, author) post count used to reconcile cached totals.
+ */
+public interface BlogPostCount {
+
+  String getCategory();
+
+  UUID getAuthorId();
+
+  long getTotal();
+}
@@ -0,0 +1,43 @@
+package com.example.demo.domain.blogpost;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position after the last row of a page in keyset mode. Clients receive it as an opaque base64url
+ * string and send it back unchanged to get the next page.
+ */
+public record BlogPostCursor(BlogPostSortField sortField, Sort.Direction direction, Comparable<?> key, UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  public static BlogPostCursor after(BlogPost blogPost, BlogPostSortField sortField, Sort.Direction direction) {
+    return new BlogPostCursor(sortField, direction, sortField.keyOf(blogPost), blogPost.getId());
+  }
+
+  public String encode() {
+    // The key goes last because titles and categories may contain the separator
+    String raw = sortField.param() + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + key;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param cursor Value of the {@code cursor} request parameter
+   * @return Decoded cursor
+   * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+   */
+  public static BlogPostCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, 4);
+      BlogPostSortField sortField = BlogPostSortField.valueOf(parts[0].toUpperCase());
+      return new BlogPostCursor(sortField, Sort.Direction.valueOf(parts[1]), sortField.parseKey(parts[3]),
+          UUID.fromString(parts[2]));
+    }
+    catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the number of posts created on one day, used to reconcile the daily aggregates.
+ */
+public interface BlogPostDailyCount {
+
+  LocalDate getDay();
+
+  long getTotal();
+}
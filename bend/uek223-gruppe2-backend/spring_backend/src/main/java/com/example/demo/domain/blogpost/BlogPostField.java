@@ -0,0 +1,65 @@
+package com.example.demo.domain.blogpost;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields that can be requested with {@code fields=} on the blog post list. Only the columns of the
+ * requested fields are selected, so a listing without {@link #TEXT} never reads the post bodies.
+ */
+public enum BlogPostField {
+
+  ID("id"),
+  TITLE("title"),
+  TEXT("text"),
+  EXCERPT("excerpt"),
+  CATEGORY("category"),
+  AUTHOR("author"),
+  CREATED_AT("createdAt"),
+  UPDATED_AT("updatedAt");
+
+  // view=summary: everything a list view shows, with a short excerpt in place of the text
+  public static final Set<BlogPostField> SUMMARY = EnumSet.of(ID, TITLE, EXCERPT, CATEGORY, AUTHOR, CREATED_AT,
+      UPDATED_AT);
+
+  private final String param;
+
+  BlogPostField(String param) {
+    this.param = param;
+  }
+
+  /**
+   * @param fields Comma separated field names, may be null
+   * @param view   Named view, currently only {@code summary}, may be null
+   * @return Requested fields including the id, or null if the full post was requested
+   * @throws IllegalArgumentException for unknown fields or views
+   */
+  public static Set<BlogPostField> parse(String fields, String view) {
+    Set<BlogPostField> selected = EnumSet.noneOf(BlogPostField.class);
+    if (view != null && !view.isBlank()) {
+      if (!view.equalsIgnoreCase("summary")) {
+        throw new IllegalArgumentException("Unknown view: " + view);
+      }
+      selected.addAll(SUMMARY);
+    }
+    if (fields != null && !fields.isBlank()) {
+      for (String name : fields.split(",")) {
+        selected.add(fromParam(name.trim()));
+      }
+    }
+    if (selected.isEmpty()) {
+      return null;
+    }
+    selected.add(ID);
+    return selected;
+  }
+
+  private static BlogPostField fromParam(String name) {
+    for (BlogPostField field : values()) {
+      if (field.param.equalsIgnoreCase(name)) {
+        return field;
+      }
+    }
+    throw new IllegalArgumentException("Unknown field: " + name);
+  }
+}
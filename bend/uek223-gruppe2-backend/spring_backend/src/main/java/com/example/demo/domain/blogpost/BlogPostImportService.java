@@ -0,0 +1,282 @@
+package com.example.demo.domain.blogpost;
+
+import com.example.demo.domain.blogpost.dto.BlogPostImportDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostImportResultDTO;
+import com.example.demo.domain.user.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk import of newline-delimited JSON, one {@link BlogPostImportDTO} per line. The body is read
+ * line by line and valid lines are inserted with JDBC batches of {@code batchSize} rows, each batch
+ * in its own transaction, so memory stays bounded by one batch whatever the size of the input.
+ * Invalid lines are reported with their line number and skipped. When the database rejects a batch
+ * its rows are retried one by one, so that only the offending rows are lost.
+ */
+@Log4j2
+@Service
+public class BlogPostImportService {
+
+  private static final String INSERT = "insert into blog_post (id, title, text, category, author_id, created_at, "
+      + "updated_at, version) values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectReader reader;
+  private final Validator validator;
+  private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int batchSize;
+  private final int maxLineLength;
+  private final int maxReportedErrors;
+
+  @Autowired
+  public BlogPostImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper, Validator validator, UserRepository userRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${blogpost.import.batchSize:1000}") int batchSize,
+                               @Value("${blogpost.import.maxLineLength:262144}") int maxLineLength,
+                               @Value("${blogpost.import.maxReportedErrors:100}") int maxReportedErrors) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.reader = objectMapper.readerFor(BlogPostImportDTO.class);
+    this.validator = validator;
+    this.userRepository = userRepository;
+    this.eventPublisher = eventPublisher;
+    this.batchSize = batchSize;
+    this.maxLineLength = maxLineLength;
+    this.maxReportedErrors = maxReportedErrors;
+  }
+
+  /**
+   * @param body            NDJSON input, read to its end
+   * @param defaultAuthorId Author of lines without {@code authorId}
+   * @return Number of imported and rejected lines with the reasons of the first rejections
+   */
+  public BlogPostImportResultDTO importNdjson(InputStream body, UUID defaultAuthorId) throws IOException {
+    ImportRun run = new ImportRun(defaultAuthorId);
+    LineReader lines = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxLineLength);
+    List<Row> batch = new ArrayList<>(batchSize);
+    while (lines.next()) {
+      Row row = parse(lines, run);
+      if (row != null) {
+        batch.add(row);
+        if (batch.size() == batchSize) {
+          insert(batch, run);
+          batch.clear();
+        }
+      }
+    }
+    insert(batch, run);
+    log.info("Imported {} blog posts, rejected {} lines", run.imported, run.failed);
+    return run.result();
+  }
+
+  private Row parse(LineReader lines, ImportRun run) {
+    if (lines.truncated()) {
+      run.reject(lines.number(), "Line is longer than " + maxLineLength + " characters");
+      return null;
+    }
+    String line = lines.text();
+    if (line.isBlank()) {
+      return null;
+    }
+    BlogPostImportDTO post;
+    try {
+      post = reader.readValue(line);
+    } catch (JsonProcessingException e) {
+      run.reject(lines.number(), "Malformed JSON: " + e.getOriginalMessage());
+      return null;
+    }
+    if (post == null) {
+      run.reject(lines.number(), "Line is not a JSON object");
+      return null;
+    }
+    Set<ConstraintViolation<BlogPostImportDTO>> violations = validator.validate(post);
+    if (!violations.isEmpty()) {
+      run.reject(lines.number(), violations.stream().map(ConstraintViolation::getMessage).sorted()
+                                           .collect(Collectors.joining(", ")));
+      return null;
+    }
+    UUID authorId = post.getAuthorId() == null ? run.defaultAuthorId : post.getAuthorId();
+    LocalDateTime createdAt = post.getCreatedAt() == null ? LocalDateTime.now() : post.getCreatedAt();
+    return new Row(lines.number(), UUID.randomUUID(), post, authorId, createdAt);
+  }
+
+  private void insert(List<Row> batch, ImportRun run) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<Row> rows = withKnownAuthor(batch, run);
+    try {
+      transactionTemplate.executeWithoutResult(status -> write(rows));
+      run.imported += rows.size();
+    } catch (DataAccessException e) {
+      log.debug("Batch rejected, retrying its {} rows one by one", rows.size(), e);
+      for (Row row : rows) {
+        try {
+          transactionTemplate.executeWithoutResult(status -> write(List.of(row)));
+          run.imported++;
+        } catch (DataAccessException rowException) {
+          run.reject(row.line(), "Rejected by the database: "
+              + NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+        }
+      }
+    }
+  }
+
+  // Checked up front, as a single foreign key violation would fail the whole batch
+  private List<Row> withKnownAuthor(List<Row> batch, ImportRun run) {
+    Set<UUID> unchecked = batch.stream().map(Row::authorId).filter(id -> !run.knownAuthors.contains(id))
+                               .collect(Collectors.toSet());
+    if (!unchecked.isEmpty()) {
+      run.knownAuthors.addAll(userRepository.findIdsByIdIn(unchecked));
+    }
+    List<Row> rows = new ArrayList<>(batch.size());
+    for (Row row : batch) {
+      if (run.knownAuthors.contains(row.authorId())) {
+        rows.add(row);
+      } else {
+        run.reject(row.line(), "Unknown author " + row.authorId());
+      }
+    }
+    return rows;
+  }
+
+  private void write(List<Row> rows) {
+    jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, row) -> {
+      statement.setObject(1, row.id());
+      statement.setString(2, row.post().getTitle());
+      statement.setString(3, row.post().getText());
+      statement.setString(4, row.post().getCategory());
+      statement.setObject(5, row.authorId());
+      statement.setObject(6, row.createdAt());
+      statement.setObject(7, row.createdAt());
+    });
+    // Published inside the transaction, so that the aggregate counters commit with the batch
+    eventPublisher.publishEvent(new BlogPostsChangedEvent(rows.stream()
+        .map(row -> new BlogPostChangedEvent(BlogPostChangedEvent.Type.CREATED, row.id(), row.post().getCategory(),
+            null, row.authorId(), row.post().getTitle(), row.createdAt()))
+        .toList()));
+  }
+
+  private record Row(long line, UUID id, BlogPostImportDTO post, UUID authorId, LocalDateTime createdAt) {
+  }
+
+  private final class ImportRun {
+
+    private final UUID defaultAuthorId;
+    private final Set<UUID> knownAuthors = new HashSet<>();
+    private final List<BlogPostImportResultDTO.LineError> errors = new ArrayList<>();
+    private long imported;
+    private long failed;
+
+    ImportRun(UUID defaultAuthorId) {
+      this.defaultAuthorId = defaultAuthorId;
+    }
+
+    void reject(long line, String message) {
+      failed++;
+      if (errors.size() < maxReportedErrors) {
+        errors.add(new BlogPostImportResultDTO.LineError(line, message));
+      }
+    }
+
+    BlogPostImportResultDTO result() {
+      errors.sort(Comparator.comparingLong(BlogPostImportResultDTO.LineError::getLine));
+      return new BlogPostImportResultDTO(imported, failed, errors);
+    }
+  }
+
+  /**
+   * Reads one line at a time without holding more than {@code maxLength} characters of it, the rest
+   * of a longer line is skipped.
+   */
+  private static final class LineReader {
+
+    private final Reader in;
+    private final int maxLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private long number;
+    private boolean truncated;
+
+    LineReader(Reader in, int maxLength) {
+      this.in = in;
+      this.maxLength = maxLength;
+    }
+
+    /**
+     * @return false at the end of the input
+     */
+    boolean next() throws IOException {
+      line.setLength(0);
+      truncated = false;
+      boolean read = false;
+      while (true) {
+        if (position == limit) {
+          limit = in.read(buffer);
+          position = 0;
+          if (limit <= 0) {
+            limit = 0;
+            if (read) {
+              number++;
+            }
+            return read;
+          }
+        }
+        read = true;
+        char c = buffer[position++];
+        if (c == '\n') {
+          number++;
+          return true;
+        }
+        if (line.length() < maxLength) {
+          line.append(c);
+        } else {
+          truncated = true;
+        }
+      }
+    }
+
+    String text() {
+      int end = line.length();
+      return end > 0 && line.charAt(end - 1) == '\r' ? line.substring(0, end - 1) : line.toString();
+    }
+
+    long number() {
+      return number;
+    }
+
+    boolean truncated() {
+      return truncated;
+    }
+  }
+}
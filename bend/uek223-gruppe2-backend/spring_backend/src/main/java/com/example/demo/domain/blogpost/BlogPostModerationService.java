@@ -0,0 +1,108 @@
+package com.example.demo.domain.blogpost;
+
+import com.example.demo.domain.blogpost.dto.BlogPostBulkResultDTO;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Admin operations on many posts at once. The selection is walked in id order in chunks of
+ * {@code chunkSize}: each chunk is one transaction that locks the chunk's rows, changes them with a
+ * single {@code UPDATE} or {@code DELETE ... WHERE id IN} and publishes one
+ * {@link BlogPostsChangedEvent}. Locks are therefore held for one chunk at a time, and an operation
+ * that fails part way keeps the chunks committed before.
+ */
+@Log4j2
+@Service
+public class BlogPostModerationService {
+
+  private final BlogPostRepository blogPostRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int chunkSize;
+
+  @Autowired
+  public BlogPostModerationService(BlogPostRepository blogPostRepository, TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${blogpost.moderation.chunkSize:1000}") int chunkSize) {
+    this.blogPostRepository = blogPostRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+  }
+
+  public BlogPostBulkResultDTO delete(BlogPostBulkFilter filter) {
+    return run(filter, null,
+        targets -> blogPostRepository.deleteByIds(ids(targets)),
+        target -> new BlogPostChangedEvent(BlogPostChangedEvent.Type.DELETED, target.id(), target.category(), null,
+            target.authorId(), target.title(), target.createdAt()));
+  }
+
+  public BlogPostBulkResultDTO recategorize(BlogPostBulkFilter filter, String newCategory) {
+    // Posts already in the new category are skipped, which also keeps them from matching again
+    return run(filter, newCategory,
+        targets -> blogPostRepository.updateCategoryByIds(ids(targets), newCategory, LocalDateTime.now()),
+        target -> new BlogPostChangedEvent(BlogPostChangedEvent.Type.UPDATED, target.id(), newCategory,
+            target.category(), target.authorId(), target.title(), target.createdAt()));
+  }
+
+  private BlogPostBulkResultDTO run(BlogPostBulkFilter filter, String excludedCategory,
+                                    ToIntFunction<List<BlogPostModerationTarget>> operation,
+                                    Function<BlogPostModerationTarget, BlogPostChangedEvent> change) {
+    if (filter.isEmpty()) {
+      throw new IllegalArgumentException("At least one of ids, authorId, category or createdBefore is required");
+    }
+    BlogPostBulkResultDTO result = new BlogPostBulkResultDTO(0, 0);
+    if (filter.ids() == null || filter.ids().isEmpty()) {
+      runChunks(filter, excludedCategory, operation, change, result);
+    } else {
+      // An ID list is split up front, so that no chunk binds more than chunkSize IDs
+      List<UUID> ids = List.copyOf(filter.ids());
+      for (int from = 0; from < ids.size(); from += chunkSize) {
+        runChunks(filter.withIds(ids.subList(from, Math.min(from + chunkSize, ids.size()))), excludedCategory,
+            operation, change, result);
+      }
+    }
+    log.info("Bulk moderation affected {} blog posts in {} chunks", result.getAffected(), result.getChunks());
+    return result;
+  }
+
+  private void runChunks(BlogPostBulkFilter filter, String excludedCategory,
+                         ToIntFunction<List<BlogPostModerationTarget>> operation,
+                         Function<BlogPostModerationTarget, BlogPostChangedEvent> change,
+                         BlogPostBulkResultDTO result) {
+    UUID afterId = null;
+    while (true) {
+      UUID chunkAfter = afterId;
+      List<BlogPostModerationTarget> targets = transactionTemplate.execute(status -> {
+        List<BlogPostModerationTarget> chunk = blogPostRepository.lockNextChunk(filter, excludedCategory, chunkAfter,
+            chunkSize);
+        if (!chunk.isEmpty()) {
+          result.setAffected(result.getAffected() + operation.applyAsInt(chunk));
+          eventPublisher.publishEvent(new BlogPostsChangedEvent(chunk.stream().map(change).toList()));
+        }
+        return chunk;
+      });
+      if (targets.isEmpty()) {
+        return;
+      }
+      result.setChunks(result.getChunks() + 1);
+      if (targets.size() < chunkSize) {
+        return;
+      }
+      afterId = targets.get(targets.size() - 1).id();
+    }
+  }
+
+  private static List<UUID> ids(List<BlogPostModerationTarget> targets) {
+    return targets.stream().map(BlogPostModerationTarget::id).toList();
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a post that bulk moderation needs to describe the change to listeners.
+ */
+public record BlogPostModerationTarget(UUID id, String title, String category, UUID authorId,
+                                       LocalDateTime createdAt) {
+}
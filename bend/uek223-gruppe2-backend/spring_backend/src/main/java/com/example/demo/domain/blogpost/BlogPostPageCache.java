@@ -0,0 +1,122 @@
+package com.example.demo.domain.blogpost;
+
+import com.example.demo.core.datasource.ReplicaRoutingDataSource;
+import com.example.demo.domain.blogpost.dto.BlogPostDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostMapper;
+import com.example.demo.domain.blogpost.dto.BlogPostPageResponseDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * UC4: Fully built list pages of the default list mode (exact totals, all fields). Concurrent misses
+ * for the same page share one load, and entries older than the refresh interval keep being served
+ * while a single background reload replaces them. Committed changes drop only the pages whose
+ * filters can contain the changed post.
+ */
+@Component
+public class BlogPostPageCache {
+
+  private final BlogPostService blogPostService;
+  private final BlogPostMapper blogPostMapper;
+  private final LoadingCache<PageKey, CachedPage> pages;
+
+  @Autowired
+  public BlogPostPageCache(BlogPostService blogPostService, BlogPostMapper blogPostMapper,
+                           @Value("${blogpost.pageCache.maxSize:1000}") long maxSize,
+                           @Value("${blogpost.pageCache.refreshSeconds:5}") long refreshSeconds,
+                           @Value("${blogpost.pageCache.ttlSeconds:60}") long ttlSeconds) {
+    this.blogPostService = blogPostService;
+    this.blogPostMapper = blogPostMapper;
+    this.pages = Caffeine.newBuilder()
+                         .maximumSize(maxSize)
+                         .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                         .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                         .recordStats()
+                         .build(this::load);
+  }
+
+  public CachedPage get(int page, BlogPostSortField sortField, Sort.Direction direction, String category,
+                                     UUID authorId) {
+    String normalizedCategory = category == null || category.isBlank() ? null : category;
+    return pages.get(new PageKey(page, sortField, direction, normalizedCategory, authorId));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBlogPostChanged(BlogPostChangedEvent event) {
+    pages.asMap().keySet().removeIf(key -> key.matches(event));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBlogPostsChanged(BlogPostsChangedEvent event) {
+    pages.invalidateAll();
+  }
+
+  public void invalidateAll() {
+    pages.invalidateAll();
+  }
+
+  public CacheStats getCacheStats() {
+    return pages.stats();
+  }
+
+  private CachedPage load(PageKey key) {
+    // UC4: Enforce 5 posts per page
+    PageRequest pageable = PageRequest.of(key.page(), 5, Sort.by(key.direction(), key.sortField().property()));
+
+    // UC4: Get paginated and filtered results. Loads follow the evictions of committed changes and
+    // are served to everyone, so a lagging replica must not answer them
+    Page<BlogPost> blogPostPage = ReplicaRoutingDataSource.afterAnyWrite(
+        () -> blogPostService.findAllWithFilters(pageable, key.category(), key.authorId()));
+
+    // Convert to DTOs
+    List<BlogPostDTO> blogPostDTOs = blogPostPage.getContent().stream()
+        .map(blogPostMapper::toDTO)
+        .collect(Collectors.toList());
+
+    // Create paginated response
+    BlogPostPageResponseDTO response = new BlogPostPageResponseDTO(
+        blogPostDTOs,
+        blogPostPage.getTotalPages(),
+        blogPostPage.getTotalElements(),
+        blogPostPage.getNumber(),
+        blogPostPage.getSize(),
+        blogPostPage.isFirst(),
+        blogPostPage.isLast(),
+        blogPostPage.hasNext());
+
+    BlogPostVersion version = new BlogPostVersion("full", response.getTotalElements(), response.isHasNext());
+    blogPostDTOs.forEach(dto -> version.add(dto.getId(), dto.getUpdatedAt()));
+    return new CachedPage(response, version.etag(), version.lastModifiedMillis());
+  }
+
+  /**
+   * Page together with its ETag and {@code Last-Modified}, computed once per load.
+   */
+  public record CachedPage(BlogPostPageResponseDTO response, String etag, long lastModifiedMillis) {
+  }
+
+  private record PageKey(int page, BlogPostSortField sortField, Sort.Direction direction, String category,
+                         UUID authorId) {
+
+    // Any change can move posts between pages, so every page whose filters admit the post is dropped
+    boolean matches(BlogPostChangedEvent event) {
+      boolean categoryMatches = category == null || category.equals(event.category())
+          || category.equals(event.previousCategory());
+      boolean authorMatches = authorId == null || authorId.equals(event.authorId());
+      return categoryMatches && authorMatches;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.domain.blogpost;
+
+import com.example.demo.domain.blogpost.dto.BlogPostDTO;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Row of a projected listing: the DTO with only the requested fields set, plus the sort key and
+ * {@code updatedAt}, which are read even when not requested so that a cursor and an ETag can be
+ * built.
+ */
+public record BlogPostProjection(BlogPostDTO dto, Comparable<?> sortKey, LocalDateTime version) {
+
+  public BlogPostCursor cursor(BlogPostSortField sortField, Sort.Direction direction) {
+    return new BlogPostCursor(sortField, direction, sortKey, dto.getId());
+  }
+}
@@ -2,22 +2,109 @@ package com.example.demo.domain.blogpost;
 
 import com.example.demo.core.generic.AbstractRepository;
 import com.example.demo.domain.user.User;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BlogPostRepository extends AbstractRepository<BlogPost> {
+public interface BlogPostRepository extends AbstractRepository<BlogPost>, BlogPostRepositoryCustom {
 
+  @Override
+  @EntityGraph(BlogPost.WITH_AUTHOR)
+  Optional<BlogPost> findById(UUID id);
+
+  @EntityGraph(BlogPost.WITH_AUTHOR)
   Page<BlogPost> findAll(Pageable pageable);
 
+  @EntityGraph(BlogPost.WITH_AUTHOR)
   Page<BlogPost> findByCategory(String category, Pageable pageable);
 
   Page<BlogPost> findByAuthor(User author, Pageable pageable);
 
+  @EntityGraph(BlogPost.WITH_AUTHOR)
   Page<BlogPost> findByAuthorId(UUID authorId, Pageable pageable);
 
+  @EntityGraph(BlogPost.WITH_AUTHOR)
   Page<BlogPost> findByCategoryAndAuthorId(String category, UUID authorId, Pageable pageable);
 
+  // Slice variants read one extra row instead of running a count query
+
+  @EntityGraph(BlogPost.WITH_AUTHOR)
+  Slice<BlogPost> findSliceBy(Pageable pageable);
+
+  @EntityGraph(BlogPost.WITH_AUTHOR)
+  Slice<BlogPost> findSliceByCategory(String category, Pageable pageable);
+
+  @EntityGraph(BlogPost.WITH_AUTHOR)
+  Slice<BlogPost> findSliceByAuthorId(UUID authorId, Pageable pageable);
+
+  @EntityGraph(BlogPost.WITH_AUTHOR)
+  Slice<BlogPost> findSliceByCategoryAndAuthorId(String category, UUID authorId, Pageable pageable);
+
+  @Query("select p.updatedAt from BlogPost p where p.id = :id")
+  Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+  // Tells why a conditional write matched no row, without the text
+  @Query("select new com.example.demo.domain.blogpost.BlogPostWriteTarget(p.id, p.title, p.category, p.createdAt, "
+      + "p.version, a.id, a.firstName, a.lastName) from BlogPost p join p.author a where p.id = :id")
+  Optional<BlogPostWriteTarget> findWriteTargetById(@Param("id") UUID id);
+
+  @Modifying
+  @Query("delete from BlogPost p where p.id in :ids")
+  int deleteByIds(@Param("ids") Collection<UUID> ids);
+
+  @Modifying
+  @Query("update BlogPost p set p.category = :category, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+      + "where p.id in :ids")
+  int updateCategoryByIds(@Param("ids") Collection<UUID> ids, @Param("category") String category,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+  long countByCategory(String category);
+
+  long countByAuthorId(UUID authorId);
+
+  long countByCategoryAndAuthorId(String category, UUID authorId);
+
+  @Query("select p.category as category, p.author.id as authorId, count(p) as total "
+      + "from BlogPost p group by p.category, p.author.id")
+  List<BlogPostCount> countGroupedByCategoryAndAuthor();
+
+  @Query("select cast(p.createdAt as LocalDate) as day, count(p) as total "
+      + "from BlogPost p group by cast(p.createdAt as LocalDate)")
+  List<BlogPostDailyCount> countGroupedByDay();
+
+  @Query("select p.id as id, p.title as title, p.category as category, p.createdAt as createdAt from BlogPost p")
+  List<BlogPostSuggestSource> findSuggestSources();
+
+  @EntityGraph(BlogPost.WITH_AUTHOR)
+  List<BlogPost> findByIdIn(Collection<UUID> ids);
+
+  // Full-text search over the generated search_vector column (PostgreSQL only, see V1__schema.sql).
+  // Matches come from the GIN index; only they are ranked and paged by (rank, id).
+
+  @Query(value = "SELECT p.id AS id, ts_rank(p.search_vector, q) AS rank "
+      + "FROM blog_post p, websearch_to_tsquery('english', :query) q "
+      + "WHERE p.search_vector @@ q "
+      + "ORDER BY rank DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+  List<BlogPostSearchHit> search(@Param("query") String query, @Param("limit") int limit);
+
+  @Query(value = "SELECT hits.id AS id, hits.rank AS rank FROM ("
+      + "SELECT p.id AS id, ts_rank(p.search_vector, q) AS rank "
+      + "FROM blog_post p, websearch_to_tsquery('english', :query) q "
+      + "WHERE p.search_vector @@ q) hits "
+      + "WHERE (hits.rank, hits.id) < (CAST(:rank AS real), :id) "
+      + "ORDER BY hits.rank DESC, hits.id DESC LIMIT :limit", nativeQuery = true)
+  List<BlogPostSearchHit> searchAfter(@Param("query") String query, @Param("rank") float rank, @Param("id") UUID id,
+                                      @Param("limit") int limit);
+
 }
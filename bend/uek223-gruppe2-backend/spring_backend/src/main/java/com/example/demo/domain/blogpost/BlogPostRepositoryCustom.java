@@ -0,0 +1,83 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+public interface BlogPostRepositoryCustom {
+
+  /**
+   * Keyset query: reads {@code limit} posts that follow {@code after} in the given order, using a
+   * seek predicate on (sort key, id) instead of an offset.
+   *
+   * @param sortField Sort key
+   * @param direction Sort direction, applied to the key and to the id tie-breaker
+   * @param category  Optional category filter
+   * @param authorId  Optional author filter
+   * @param after     Last row of the previous page, or {@code null} for the first page
+   * @param limit     Maximum number of rows to read
+   * @return Posts in sort order
+   */
+  List<BlogPost> findAfter(BlogPostSortField sortField, Sort.Direction direction, String category, UUID authorId,
+                           BlogPostCursor after, int limit);
+
+  /**
+   * Reads only the columns of the requested fields. The post text is only read if
+   * {@link BlogPostField#TEXT} is requested; {@link BlogPostField#EXCERPT} is cut in the database.
+   *
+   * @param fields        Requested fields
+   * @param sortField     Sort key
+   * @param direction     Sort direction
+   * @param category      Optional category filter
+   * @param authorId      Optional author filter
+   * @param after         Last row of the previous page for keyset mode, otherwise null
+   * @param offset        Rows to skip in page-number mode, 0 in keyset mode
+   * @param limit         Maximum number of rows to read
+   * @param excerptLength Maximum excerpt length in characters
+   * @return Projected rows in sort order
+   */
+  List<BlogPostProjection> findProjected(Set<BlogPostField> fields, BlogPostSortField sortField,
+                                         Sort.Direction direction, String category, UUID authorId,
+                                         BlogPostCursor after, long offset, int limit, int excerptLength);
+
+  /**
+   * Reads and write-locks the next chunk of posts for a bulk moderation operation, in id order.
+   *
+   * @param filter           Selection of the operation
+   * @param excludedCategory Optional category whose posts are skipped, e.g. the target of a move
+   * @param afterId          Last id of the previous chunk, or {@code null} for the first chunk
+   * @param limit            Chunk size
+   * @return Locked posts
+   */
+  List<BlogPostModerationTarget> lockNextChunk(BlogPostBulkFilter filter, String excludedCategory, UUID afterId,
+                                               int limit);
+
+  /**
+   * Overwrites the content of a post and increments its version, if the post still has the given
+   * version and, with an owner, that author. On PostgreSQL this is a single statement.
+   *
+   * @param id        Post to update
+   * @param ownerId   Required author, or {@code null} for any author
+   * @param version   Version the client read
+   * @param title     New title
+   * @param text      New text
+   * @param category  New category
+   * @param updatedAt Modification time
+   * @return Pre-image of the updated post, or empty if no post matched
+   */
+  Optional<BlogPostWriteTarget> updateIfCurrent(UUID id, UUID ownerId, long version, String title, String text,
+                                                String category, LocalDateTime updatedAt);
+
+  /**
+   * Deletes a post under the same conditions as {@link #updateIfCurrent}.
+   *
+   * @param id      Post to delete
+   * @param ownerId Required author, or {@code null} for any author
+   * @param version Version the client read, or {@code null} for any version
+   * @return Pre-image of the deleted post, or empty if no post matched
+   */
+  Optional<BlogPostWriteTarget> deleteIfCurrent(UUID id, UUID ownerId, Long version);
+}
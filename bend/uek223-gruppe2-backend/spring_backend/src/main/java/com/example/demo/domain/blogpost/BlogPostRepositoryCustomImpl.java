@@ -0,0 +1,321 @@
+package com.example.demo.domain.blogpost;
+
+import com.example.demo.domain.blogpost.dto.AuthorSummaryDTO;
+import com.example.demo.domain.blogpost.dto.BlogPostDTO;
+import com.example.demo.domain.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+
+public class BlogPostRepositoryCustomImpl implements BlogPostRepositoryCustom {
+
+  private static final String SORT_KEY = "sortKey";
+  // Pre-image columns of the post aliased %1$s and its author a, as RETURNING reports them
+  private static final String PRE_IMAGE = "%1$s.id as id, %1$s.title as title, %1$s.category as category, "
+      + "%1$s.created_at as created_at, %1$s.version as version, "
+      + "a.id as author_id, a.first_name as author_first_name, a.last_name as author_last_name";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public List<BlogPost> findAfter(BlogPostSortField sortField, Sort.Direction direction, String category,
+                                  UUID authorId, BlogPostCursor after, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<BlogPost> query = cb.createQuery(BlogPost.class);
+    Root<BlogPost> root = query.from(BlogPost.class);
+    Expression<Comparable> key = root.get(sortField.property());
+    Expression<UUID> id = root.get("id");
+
+    query.select(root)
+         .where(predicates(cb, root, key, id, direction, category, authorId, after))
+         .orderBy(direction.isAscending() ? List.of(cb.asc(key), cb.asc(id)) : List.of(cb.desc(key), cb.desc(id)));
+    return entityManager.createQuery(query)
+                        .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(BlogPost.WITH_AUTHOR))
+                        .setMaxResults(limit)
+                        .getResultList();
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public List<BlogPostProjection> findProjected(Set<BlogPostField> fields, BlogPostSortField sortField,
+                                                Sort.Direction direction, String category, UUID authorId,
+                                                BlogPostCursor after, long offset, int limit, int excerptLength) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<BlogPost> root = query.from(BlogPost.class);
+    Expression<Comparable> key = root.get(sortField.property());
+    Expression<UUID> id = root.get("id");
+
+    List<Selection<?>> selections = new ArrayList<>();
+    selections.add(id.alias("id"));
+    // The sort key is always read for the cursor; a requested field that is the sort key reuses it
+    selections.add(key.alias(SORT_KEY));
+    String sortProperty = sortField.property();
+    for (BlogPostField field : List.of(BlogPostField.TITLE, BlogPostField.CATEGORY, BlogPostField.CREATED_AT)) {
+      String property = propertyOf(field);
+      if (fields.contains(field) && !property.equals(sortProperty)) {
+        selections.add(root.get(property).alias(property));
+      }
+    }
+    // Always read as the row version, even if not requested
+    selections.add(root.get("updatedAt").alias("updatedAt"));
+    if (fields.contains(BlogPostField.TEXT)) {
+      selections.add(root.get("text").alias("text"));
+    }
+    if (fields.contains(BlogPostField.EXCERPT)) {
+      // Computed in the database: only excerptLength + 1 characters of the body leave Postgres, the
+      // extra one tells whether the text was cut
+      selections.add(cb.substring(root.get("text"), 1, excerptLength + 1).alias("excerpt"));
+    }
+    if (fields.contains(BlogPostField.AUTHOR)) {
+      Join<BlogPost, User> author = root.join("author");
+      selections.add(author.get("id").alias("authorId"));
+      selections.add(author.get("firstName").alias("authorFirstName"));
+      selections.add(author.get("lastName").alias("authorLastName"));
+    }
+
+    query.multiselect(selections)
+         .where(predicates(cb, root, key, id, direction, category, authorId, after))
+         .orderBy(direction.isAscending() ? List.of(cb.asc(key), cb.asc(id)) : List.of(cb.desc(key), cb.desc(id)));
+    List<Tuple> rows = entityManager.createQuery(query)
+                                    .setFirstResult((int) offset)
+                                    .setMaxResults(limit)
+                                    .getResultList();
+
+    List<BlogPostProjection> projections = new ArrayList<>(rows.size());
+    for (Tuple row : rows) {
+      projections.add(new BlogPostProjection(toDTO(row, fields, sortProperty, excerptLength),
+          (Comparable<?>) row.get(SORT_KEY), row.get("updatedAt", LocalDateTime.class)));
+    }
+    return projections;
+  }
+
+  @Override
+  public List<BlogPostModerationTarget> lockNextChunk(BlogPostBulkFilter filter, String excludedCategory,
+                                                      UUID afterId, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<BlogPostModerationTarget> query = cb.createQuery(BlogPostModerationTarget.class);
+    Root<BlogPost> root = query.from(BlogPost.class);
+    Expression<UUID> id = root.get("id");
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (filter.ids() != null && !filter.ids().isEmpty()) {
+      predicates.add(id.in(filter.ids()));
+    }
+    if (filter.authorId() != null) {
+      predicates.add(cb.equal(root.get("author").get("id"), filter.authorId()));
+    }
+    if (filter.category() != null && !filter.category().isBlank()) {
+      predicates.add(cb.equal(root.get("category"), filter.category()));
+    }
+    if (filter.createdBefore() != null) {
+      predicates.add(cb.lessThan(root.get("createdAt"), filter.createdBefore()));
+    }
+    if (excludedCategory != null) {
+      predicates.add(cb.notEqual(root.get("category"), excludedCategory));
+    }
+    if (afterId != null) {
+      predicates.add(cb.greaterThan(id, afterId));
+    }
+
+    query.select(cb.construct(BlogPostModerationTarget.class, id, root.get("title"), root.get("category"),
+             root.get("author").get("id"), root.get("createdAt")))
+         .where(predicates.toArray(Predicate[]::new))
+         .orderBy(cb.asc(id));
+    return entityManager.createQuery(query)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .setMaxResults(limit)
+                        .getResultList();
+  }
+
+  @Override
+  public Optional<BlogPostWriteTarget> updateIfCurrent(UUID id, UUID ownerId, long version, String title,
+                                                       String text, String category, LocalDateTime updatedAt) {
+    if (!supportsReturning()) {
+      Optional<BlogPostWriteTarget> target = lockIfCurrent(id, ownerId, version);
+      if (target.isPresent()) {
+        entityManager.createQuery("update BlogPost p set p.title = :title, p.text = :text, p.category = :category, "
+                         + "p.updatedAt = :updatedAt, p.version = p.version + 1 where p.id = :id")
+                     .setParameter("id", id)
+                     .setParameter("title", title)
+                     .setParameter("text", text)
+                     .setParameter("category", category)
+                     .setParameter("updatedAt", updatedAt)
+                     .executeUpdate();
+      }
+      return target;
+    }
+    // The joined copy o still holds the row as it was before the update
+    Query query = entityManager.createNativeQuery("update blog_post p set title = :title, text = :text, "
+        + "category = :category, updated_at = :updatedAt, version = p.version + 1 "
+        + "from blog_post o join users a on a.id = o.author_id "
+        + "where p.id = :id and o.id = p.id and p.version = :version"
+        + (ownerId == null ? "" : " and p.author_id = :ownerId")
+        + " returning " + PRE_IMAGE.formatted("o"))
+                               .setParameter("id", id)
+                               .setParameter("version", version)
+                               .setParameter("title", title)
+                               .setParameter("text", text)
+                               .setParameter("category", category)
+                               .setParameter("updatedAt", updatedAt);
+    if (ownerId != null) {
+      query.setParameter("ownerId", ownerId);
+    }
+    return preImage(query);
+  }
+
+  @Override
+  public Optional<BlogPostWriteTarget> deleteIfCurrent(UUID id, UUID ownerId, Long version) {
+    if (!supportsReturning()) {
+      Optional<BlogPostWriteTarget> target = lockIfCurrent(id, ownerId, version);
+      if (target.isPresent()) {
+        entityManager.createQuery("delete from BlogPost p where p.id = :id").setParameter("id", id).executeUpdate();
+      }
+      return target;
+    }
+    Query query = entityManager.createNativeQuery("delete from blog_post p using users a "
+        + "where p.id = :id and a.id = p.author_id"
+        + (ownerId == null ? "" : " and p.author_id = :ownerId")
+        + (version == null ? "" : " and p.version = :version")
+        + " returning " + PRE_IMAGE.formatted("p"))
+                               .setParameter("id", id);
+    if (ownerId != null) {
+      query.setParameter("ownerId", ownerId);
+    }
+    if (version != null) {
+      query.setParameter("version", version);
+    }
+    return preImage(query);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<BlogPostWriteTarget> preImage(Query query) {
+    List<Object[]> rows = query.unwrap(NativeQuery.class)
+                               .addScalar("id", UUID.class)
+                               .addScalar("title", String.class)
+                               .addScalar("category", String.class)
+                               .addScalar("created_at", LocalDateTime.class)
+                               .addScalar("version", Long.class)
+                               .addScalar("author_id", UUID.class)
+                               .addScalar("author_first_name", String.class)
+                               .addScalar("author_last_name", String.class)
+                               .getResultList();
+    return rows.stream().findFirst().map(row -> new BlogPostWriteTarget((UUID) row[0], (String) row[1],
+        (String) row[2], (LocalDateTime) row[3], (Long) row[4], (UUID) row[5], (String) row[6], (String) row[7]));
+  }
+
+  // Without RETURNING, the pre-image is read and locked by a statement of its own
+  private Optional<BlogPostWriteTarget> lockIfCurrent(UUID id, UUID ownerId, Long version) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<BlogPostWriteTarget> query = cb.createQuery(BlogPostWriteTarget.class);
+    Root<BlogPost> root = query.from(BlogPost.class);
+    Join<BlogPost, User> author = root.join("author");
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(root.get("id"), id));
+    if (ownerId != null) {
+      predicates.add(cb.equal(author.get("id"), ownerId));
+    }
+    if (version != null) {
+      predicates.add(cb.equal(root.get("version"), version));
+    }
+
+    query.select(cb.construct(BlogPostWriteTarget.class, root.get("id"), root.get("title"), root.get("category"),
+             root.get("createdAt"), root.get("version"), author.get("id"), author.get("firstName"),
+             author.get("lastName")))
+         .where(predicates.toArray(Predicate[]::new));
+    return entityManager.createQuery(query)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .getResultStream()
+                        .findFirst();
+  }
+
+  private boolean supportsReturning() {
+    return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                        .getDialect() instanceof PostgreSQLDialect;
+  }
+
+  private static BlogPostDTO toDTO(Tuple row, Set<BlogPostField> fields, String sortProperty, int excerptLength) {
+    BlogPostDTO dto = new BlogPostDTO();
+    dto.setId(row.get("id", UUID.class));
+    if (fields.contains(BlogPostField.TITLE)) {
+      dto.setTitle(value(row, "title", sortProperty, String.class));
+    }
+    if (fields.contains(BlogPostField.TEXT)) {
+      dto.setText(row.get("text", String.class));
+    }
+    if (fields.contains(BlogPostField.EXCERPT)) {
+      String excerpt = row.get("excerpt", String.class);
+      dto.setExcerpt(excerpt.length() > excerptLength ? excerpt.substring(0, excerptLength) + "…" : excerpt);
+    }
+    if (fields.contains(BlogPostField.CATEGORY)) {
+      dto.setCategory(value(row, "category", sortProperty, String.class));
+    }
+    if (fields.contains(BlogPostField.AUTHOR)) {
+      dto.setAuthor(new AuthorSummaryDTO(row.get("authorId", UUID.class), row.get("authorFirstName", String.class),
+          row.get("authorLastName", String.class)));
+    }
+    if (fields.contains(BlogPostField.CREATED_AT)) {
+      dto.setCreatedAt(value(row, "createdAt", sortProperty, LocalDateTime.class));
+    }
+    if (fields.contains(BlogPostField.UPDATED_AT)) {
+      dto.setUpdatedAt(row.get("updatedAt", LocalDateTime.class));
+    }
+    return dto;
+  }
+
+  private static <T> T value(Tuple row, String property, String sortProperty, Class<T> type) {
+    return row.get(property.equals(sortProperty) ? SORT_KEY : property, type);
+  }
+
+  private static String propertyOf(BlogPostField field) {
+    return switch (field) {
+      case TITLE -> "title";
+      case CATEGORY -> "category";
+      case CREATED_AT -> "createdAt";
+      default -> throw new IllegalArgumentException("Not a plain column: " + field);
+    };
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Predicate[] predicates(CriteriaBuilder cb, Root<BlogPost> root, Expression<Comparable> key,
+                                        Expression<UUID> id, Sort.Direction direction, String category,
+                                        UUID authorId, BlogPostCursor after) {
+    List<Predicate> predicates = new ArrayList<>();
+    if (category != null && !category.isBlank()) {
+      predicates.add(cb.equal(root.get("category"), category));
+    }
+    if (authorId != null) {
+      predicates.add(cb.equal(root.get("author").get("id"), authorId));
+    }
+    if (after != null) {
+      Comparable lastKey = after.key();
+      // (key, id) > (lastKey, lastId) for ascending order, < for descending
+      predicates.add(direction.isAscending()
+          ? cb.or(cb.greaterThan(key, lastKey), cb.and(cb.equal(key, lastKey), cb.greaterThan(id, after.id())))
+          : cb.or(cb.lessThan(key, lastKey), cb.and(cb.equal(key, lastKey), cb.lessThan(id, after.id()))));
+    }
+    return predicates.toArray(Predicate[]::new);
+  }
+}
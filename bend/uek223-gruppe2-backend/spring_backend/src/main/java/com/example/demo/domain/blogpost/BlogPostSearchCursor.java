@@ -0,0 +1,40 @@
+package com.example.demo.domain.blogpost;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last match of a search page, ordered by rank and then id, both descending.
+ * Clients receive it as an opaque base64url string like {@link BlogPostCursor}.
+ */
+public record BlogPostSearchCursor(float rank, UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  public static BlogPostSearchCursor after(BlogPostSearchHit hit) {
+    return new BlogPostSearchCursor(hit.getRank(), hit.getId());
+  }
+
+  public String encode() {
+    // Float.toString round-trips exactly, so the next page seeks from the same rank
+    String raw = rank + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param cursor Value of the {@code cursor} request parameter
+   * @return Decoded cursor
+   * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+   */
+  public static BlogPostSearchCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, 2);
+      return new BlogPostSearchCursor(Float.parseFloat(parts[0]), UUID.fromString(parts[1]));
+    }
+    catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
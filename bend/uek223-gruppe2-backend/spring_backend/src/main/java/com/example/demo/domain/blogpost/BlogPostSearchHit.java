@@ -0,0 +1,13 @@
+package com.example.demo.domain.blogpost;
+
+import java.util.UUID;
+
+/**
+ * Projection of a full-text search match: the post id and its {@code ts_rank}.
+ */
+public interface BlogPostSearchHit {
+
+  UUID getId();
+
+  float getRank();
+}
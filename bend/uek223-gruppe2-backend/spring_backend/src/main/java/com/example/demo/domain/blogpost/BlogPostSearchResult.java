@@ -0,0 +1,9 @@
+package com.example.demo.domain.blogpost;
+
+import java.util.List;
+
+/**
+ * Page of search matches in rank order. {@code next} is null on the last page.
+ */
+public record BlogPostSearchResult(List<BlogPost> blogPosts, BlogPostSearchCursor next) {
+}
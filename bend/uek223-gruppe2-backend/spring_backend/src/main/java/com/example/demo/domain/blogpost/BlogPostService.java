@@ -5,7 +5,12 @@ import com.example.demo.domain.blogpost.dto.BlogPostUpdateDTO;
 import com.example.demo.domain.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface BlogPostService extends AbstractService<BlogPost> {
@@ -13,13 +18,26 @@ public interface BlogPostService extends AbstractService<BlogPost> {
   BlogPost createBlogPost(BlogPost blogPost, User author);
 
   /**
-   * UC2/UC5: Update blog post with validation
+   * UC2/UC5: Update blog post with validation, as one conditional update that does not load the post
    * 
    * @param id        Blog post ID to update
-   * @param updateDTO Blog post update data
+   * @param updateDTO Blog post update data with the version the client read
+   * @param ownerId   Required author for owner edits, null for users who may edit any post
    * @return Updated blog post
+   * @throws jakarta.persistence.EntityNotFoundException if the post does not exist
+   * @throws org.springframework.security.access.AccessDeniedException if the post has another author
+   * @throws org.springframework.dao.OptimisticLockingFailureException if the post was changed meanwhile
    */
-  BlogPost updateBlogPost(UUID id, BlogPostUpdateDTO updateDTO);
+  BlogPost updateBlogPost(UUID id, BlogPostUpdateDTO updateDTO, UUID ownerId);
+
+  /**
+   * UC3/UC5: Delete blog post with the same checks as {@link #updateBlogPost}
+   *
+   * @param id      Blog post ID to delete
+   * @param version Optional version the client read
+   * @param ownerId Required author for owner deletes, null for users who may delete any post
+   */
+  void deleteBlogPost(UUID id, Long version, UUID ownerId);
 
   /**
    * UC4: Find all blog posts with pagination, sorting, and optional filtering
@@ -31,4 +49,73 @@ public interface BlogPostService extends AbstractService<BlogPost> {
    */
   Page<BlogPost> findAllWithFilters(Pageable pageable, String category, UUID authorId);
 
+  /**
+   * UC4: Count-free variant of {@link #findAllWithFilters} that only reports whether another page
+   * follows
+   *
+   * @param pageable Pagination and sorting parameters
+   * @param category Optional category filter
+   * @param authorId Optional author ID filter
+   * @return Slice of blog posts
+   */
+  Slice<BlogPost> findSliceWithFilters(Pageable pageable, String category, UUID authorId);
+
+  /**
+   * Version of a post for conditional requests, read without loading the post
+   *
+   * @param id Blog post ID
+   * @return Last modification time, or empty if the post does not exist
+   */
+  Optional<LocalDateTime> findUpdatedAt(UUID id);
+
+  /**
+   * UC4: Number of posts matching the filters
+   *
+   * @param category Optional category filter
+   * @param authorId Optional author ID filter
+   * @return Exact count
+   */
+  long countWithFilters(String category, UUID authorId);
+
+  /**
+   * UC4: Sparse listing that only reads the requested fields, in page-number or keyset mode
+   *
+   * @param fields    Requested fields
+   * @param sortField Sort key
+   * @param direction Sort direction
+   * @param category  Optional category filter
+   * @param authorId  Optional author ID filter
+   * @param after     Cursor of the previous page in keyset mode, otherwise null
+   * @param page      Page number in page-number mode, ignored in keyset mode
+   * @param size      Page size
+   * @return Projected posts
+   */
+  Slice<BlogPostProjection> findProjected(Set<BlogPostField> fields, BlogPostSortField sortField,
+                                          Sort.Direction direction, String category, UUID authorId,
+                                          BlogPostCursor after, int page, int size);
+
+  /**
+   * UC4: Keyset variant of {@link #findAllWithFilters}, whose cost does not grow with the depth
+   *
+   * @param sortField Sort key
+   * @param direction Sort direction
+   * @param category  Optional category filter
+   * @param authorId  Optional author ID filter
+   * @param after     Cursor of the previous page, or null for the first page
+   * @param size      Page size
+   * @return Posts following the cursor
+   */
+  Slice<BlogPost> findAllAfter(BlogPostSortField sortField, Sort.Direction direction, String category, UUID authorId,
+                               BlogPostCursor after, int size);
+
+  /**
+   * Full-text search over title and text, best matches first
+   *
+   * @param query Search terms in web search syntax ("quoted phrases", or, -excluded)
+   * @param after Cursor of the previous page, or null for the first page
+   * @param size  Page size
+   * @return Matching posts with their authors and the cursor of the next page
+   */
+  BlogPostSearchResult search(String query, BlogPostSearchCursor after, int size);
+
 }
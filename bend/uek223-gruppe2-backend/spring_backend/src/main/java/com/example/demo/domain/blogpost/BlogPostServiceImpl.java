@@ -3,48 +3,109 @@ package com.example.demo.domain.blogpost;
 import com.example.demo.core.generic.AbstractServiceImpl;
 import com.example.demo.domain.blogpost.dto.BlogPostUpdateDTO;
 import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BlogPostServiceImpl extends AbstractServiceImpl<BlogPost> implements BlogPostService {
 
   private final BlogPostRepository blogPostRepository;
+  private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int excerptLength;
 
   @Autowired
-  public BlogPostServiceImpl(BlogPostRepository repository) {
+  public BlogPostServiceImpl(BlogPostRepository repository, UserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${blogpost.excerptLength:200}") int excerptLength) {
     super(repository);
     this.blogPostRepository = repository;
+    this.userRepository = userRepository;
+    this.eventPublisher = eventPublisher;
+    this.excerptLength = excerptLength;
   }
 
   @Override
   @Transactional
   public BlogPost createBlogPost(BlogPost blogPost, User author) {
-    blogPost.setAuthor(author);
-    return save(blogPost);
+    // The principal may be a detached snapshot or only carry the id, so link a managed reference
+    blogPost.setAuthor(userRepository.getReferenceById(author.getId()));
+    BlogPost saved = save(blogPost);
+    eventPublisher.publishEvent(new BlogPostChangedEvent(BlogPostChangedEvent.Type.CREATED, saved.getId(),
+        saved.getCategory(), null, author.getId(), saved.getTitle(), saved.getCreatedAt()));
+    return saved;
   }
 
   @Override
   @Transactional
-  public BlogPost updateBlogPost(UUID id, BlogPostUpdateDTO updateDTO) {
-    // UC2/UC5: Find existing blog post
-    BlogPost existingBlogPost = blogPostRepository.findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Blog post not found with id: " + id));
-
-    // UC2/UC5: Update fields with validated data
-    existingBlogPost.setTitle(updateDTO.getTitle());
-    existingBlogPost.setText(updateDTO.getText());
-    existingBlogPost.setCategory(updateDTO.getCategory());
-
-    // UC2/UC5: Save and return (updatedAt timestamp will be auto-updated by
-    // @PreUpdate)
-    return blogPostRepository.save(existingBlogPost);
+  public BlogPost updateBlogPost(UUID id, BlogPostUpdateDTO updateDTO, UUID ownerId) {
+    if (updateDTO.getVersion() == null) {
+      throw new IllegalArgumentException("Version is required");
+    }
+    // UC2/UC5: The update itself checks the owner and the version the client read
+    LocalDateTime now = LocalDateTime.now();
+    BlogPostWriteTarget target = blogPostRepository.updateIfCurrent(id, ownerId, updateDTO.getVersion(),
+        updateDTO.getTitle(), updateDTO.getText(), updateDTO.getCategory(), now)
+        .orElseThrow(() -> rejection(id, ownerId));
+    eventPublisher.publishEvent(new BlogPostChangedEvent(BlogPostChangedEvent.Type.UPDATED, id,
+        updateDTO.getCategory(), target.category(), target.authorId(), updateDTO.getTitle(), target.createdAt()));
+
+    // Assembled from the statement's input and pre-image, the post is not read back
+    User author = new User(target.authorId(), target.authorFirstName(), target.authorLastName(), null, null,
+        Set.of());
+    return new BlogPost(id, updateDTO.getTitle(), updateDTO.getText(), updateDTO.getCategory(), author,
+        target.createdAt(), now).setVersion(target.version() + 1);
+  }
+
+  @Override
+  @Transactional
+  public void deleteById(UUID id) throws NoSuchElementException {
+    deleteBlogPost(id, null, null);
+  }
+
+  @Override
+  @Transactional
+  public void deleteBlogPost(UUID id, Long version, UUID ownerId) {
+    BlogPostWriteTarget target = blogPostRepository.deleteIfCurrent(id, ownerId, version)
+        .orElseThrow(() -> rejection(id, ownerId));
+    eventPublisher.publishEvent(new BlogPostChangedEvent(BlogPostChangedEvent.Type.DELETED, id,
+        target.category(), null, target.authorId(), target.title(), target.createdAt()));
+  }
+
+  // Only runs when a conditional write matched no row, to tell 404, 403 and 409 apart
+  private RuntimeException rejection(UUID id, UUID ownerId) {
+    Optional<BlogPostWriteTarget> current = blogPostRepository.findWriteTargetById(id);
+    if (current.isEmpty()) {
+      return new EntityNotFoundException("Blog post not found with id: " + id);
+    }
+    if (ownerId != null && !ownerId.equals(current.get().authorId())) {
+      return new AccessDeniedException("Access denied");
+    }
+    return new ObjectOptimisticLockingFailureException(BlogPost.class, id);
   }
 
   @Override
@@ -69,4 +130,90 @@ public class BlogPostServiceImpl extends AbstractServiceImpl<BlogPost> implement
     }
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<BlogPost> findSliceWithFilters(Pageable pageable, String category, UUID authorId) {
+    boolean hasCategory = category != null && !category.isBlank();
+    boolean hasAuthor = authorId != null;
+
+    if (hasCategory && hasAuthor) {
+      return blogPostRepository.findSliceByCategoryAndAuthorId(category, authorId, pageable);
+    } else if (hasCategory) {
+      return blogPostRepository.findSliceByCategory(category, pageable);
+    } else if (hasAuthor) {
+      return blogPostRepository.findSliceByAuthorId(authorId, pageable);
+    } else {
+      return blogPostRepository.findSliceBy(pageable);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<LocalDateTime> findUpdatedAt(UUID id) {
+    return blogPostRepository.findUpdatedAtById(id);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long countWithFilters(String category, UUID authorId) {
+    boolean hasCategory = category != null && !category.isBlank();
+    boolean hasAuthor = authorId != null;
+
+    if (hasCategory && hasAuthor) {
+      return blogPostRepository.countByCategoryAndAuthorId(category, authorId);
+    } else if (hasCategory) {
+      return blogPostRepository.countByCategory(category);
+    } else if (hasAuthor) {
+      return blogPostRepository.countByAuthorId(authorId);
+    } else {
+      return blogPostRepository.count();
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<BlogPostProjection> findProjected(Set<BlogPostField> fields, BlogPostSortField sortField,
+                                                 Sort.Direction direction, String category, UUID authorId,
+                                                 BlogPostCursor after, int page, int size) {
+    long offset = after == null ? (long) page * size : 0;
+    List<BlogPostProjection> rows = blogPostRepository.findProjected(fields, sortField, direction, category,
+        authorId, after, offset, size + 1, excerptLength);
+    boolean hasNext = rows.size() > size;
+    return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows,
+        PageRequest.of(after == null ? page : 0, size, Sort.by(direction, sortField.property())), hasNext);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<BlogPost> findAllAfter(BlogPostSortField sortField, Sort.Direction direction, String category,
+                                      UUID authorId, BlogPostCursor after, int size) {
+    // One extra row tells whether another page follows without counting
+    List<BlogPost> rows = blogPostRepository.findAfter(sortField, direction, category, authorId, after, size + 1);
+    boolean hasNext = rows.size() > size;
+    return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows,
+        PageRequest.of(0, size, Sort.by(direction, sortField.property())), hasNext);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public BlogPostSearchResult search(String query, BlogPostSearchCursor after, int size) {
+    List<BlogPostSearchHit> hits = after == null
+        ? blogPostRepository.search(query, size + 1)
+        : blogPostRepository.searchAfter(query, after.rank(), after.id(), size + 1);
+    boolean hasNext = hits.size() > size;
+    List<BlogPostSearchHit> page = hasNext ? hits.subList(0, size) : hits;
+    if (page.isEmpty()) {
+      return new BlogPostSearchResult(List.of(), null);
+    }
+
+    // Load the matched posts with their authors in one query and restore the rank order
+    List<UUID> ids = page.stream().map(BlogPostSearchHit::getId).toList();
+    Map<UUID, Integer> positions = ids.stream().collect(Collectors.toMap(Function.identity(), ids::indexOf));
+    List<BlogPost> blogPosts = blogPostRepository.findByIdIn(ids).stream()
+        .sorted(Comparator.comparing(blogPost -> positions.get(blogPost.getId())))
+        .toList();
+    return new BlogPostSearchResult(blogPosts,
+        hasNext ? BlogPostSearchCursor.after(page.get(page.size() - 1)) : null);
+  }
+
 }
@@ -0,0 +1,54 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Sort keys supported by the blog post list. Every key is paired with the id as a tie-breaker so
+ * that keyset pagination has a total order.
+ */
+public enum BlogPostSortField {
+
+  DATE("date", "createdAt", BlogPost::getCreatedAt, LocalDateTime::parse),
+  TITLE("title", "title", BlogPost::getTitle, value -> value),
+  CATEGORY("category", "category", BlogPost::getCategory, value -> value);
+
+  private final String param;
+  private final String property;
+  private final Function<BlogPost, Comparable<?>> extractor;
+  private final Function<String, Comparable<?>> parser;
+
+  BlogPostSortField(String param, String property, Function<BlogPost, Comparable<?>> extractor,
+                    Function<String, Comparable<?>> parser) {
+    this.param = param;
+    this.property = property;
+    this.extractor = extractor;
+    this.parser = parser;
+  }
+
+  // Unknown values fall back to the date, as the page-number mode always did
+  public static BlogPostSortField fromParam(String sortBy) {
+    for (BlogPostSortField field : values()) {
+      if (field.param.equalsIgnoreCase(sortBy)) {
+        return field;
+      }
+    }
+    return DATE;
+  }
+
+  public String param() {
+    return param;
+  }
+
+  public String property() {
+    return property;
+  }
+
+  public Comparable<?> keyOf(BlogPost blogPost) {
+    return extractor.apply(blogPost);
+  }
+
+  public Comparable<?> parseKey(String value) {
+    return parser.apply(value);
+  }
+}
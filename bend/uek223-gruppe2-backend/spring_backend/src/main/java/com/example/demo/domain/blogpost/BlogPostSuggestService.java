@@ -0,0 +1,262 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Title and category suggestions for autocomplete, answered from a {@link PrefixIndex} in memory
+ * instead of a {@code LIKE 'x%'} query per keystroke. Committed {@link BlogPostChangedEvent}s are
+ * kept as pending changes that queries merge in and that are compacted into a new index
+ * periodically. The index is built from the table once the application is ready and rebuilt now
+ * and again, which also picks up changes made on other nodes.
+ */
+@Log4j2
+@Service
+public class BlogPostSuggestService {
+
+  private final BlogPostRepository blogPostRepository;
+  private final int maxPending;
+
+  private volatile PrefixIndex titles;
+  // Created or updated since the index was built, these hide the entry with the same id in the index
+  private final Map<UUID, PendingTitle> pending = new ConcurrentHashMap<>();
+  private final Set<UUID> removed = ConcurrentHashMap.newKeySet();
+  // Set when a bulk write would grow the pending changes beyond maxPending, the next compaction rebuilds instead
+  private volatile boolean stale;
+
+  private final Map<String, CategoryStats> categoryStats = new HashMap<>();
+  // Guarded by categoryStats, changes counted while a rebuild reads the table, null while none runs
+  private List<BlogPostChangedEvent> categoryChangesDuringRebuild;
+  private volatile PrefixIndex categories = PrefixIndex.of(List.of());
+
+  @Autowired
+  public BlogPostSuggestService(BlogPostRepository blogPostRepository,
+                                @Value("${blogpost.suggest.maxPending:10000}") int maxPending) {
+    this.blogPostRepository = blogPostRepository;
+    this.maxPending = maxPending;
+  }
+
+  /**
+   * @param prefix Typed prefix of the title
+   * @param limit  Maximum number of suggestions
+   * @return Newest posts whose title starts with the prefix, empty before the index is built
+   */
+  public List<PrefixIndex.Entry> suggestTitles(String prefix, int limit) {
+    PrefixIndex index = titles;
+    if (index == null) {
+      return List.of();
+    }
+    List<PrefixIndex.Entry> result = new ArrayList<>(
+        index.top(prefix, limit, id -> pending.containsKey(id) || removed.contains(id)));
+    if (!pending.isEmpty()) {
+      String key = PrefixIndex.normalize(prefix);
+      pending.values().stream()
+             .filter(title -> title.key().startsWith(key))
+             .forEach(title -> result.add(title.entry()));
+      result.sort(Comparator.comparingLong(PrefixIndex.Entry::recency).reversed());
+    }
+    return result.size() > limit ? result.subList(0, limit) : result;
+  }
+
+  /**
+   * @param prefix Typed prefix of the category
+   * @param limit  Maximum number of suggestions
+   * @return Categories starting with the prefix, the one with the newest post first
+   */
+  public List<PrefixIndex.Entry> suggestCategories(String prefix, int limit) {
+    return categories.top(prefix, limit, id -> false);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBlogPostChanged(BlogPostChangedEvent event) {
+    record(event);
+    synchronized (categoryStats) {
+      if (countCategories(event)) {
+        categories = categoryIndex();
+      }
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBlogPostsChanged(BlogPostsChangedEvent event) {
+    // Queries scan the pending changes, so large batches are read back from the table instead
+    if (stale || pending.size() + removed.size() + event.changes().size() > maxPending) {
+      stale = true;
+    } else {
+      event.changes().forEach(this::record);
+    }
+    synchronized (categoryStats) {
+      event.changes().forEach(this::countCategories);
+      categories = categoryIndex();
+    }
+  }
+
+  private void record(BlogPostChangedEvent event) {
+    switch (event.type()) {
+      case CREATED, UPDATED -> pending.put(event.id(),
+          PendingTitle.of(new PrefixIndex.Entry(event.id(), event.title(), epochMillis(event.createdAt()))));
+      case DELETED -> {
+        removed.add(event.id());
+        pending.remove(event.id());
+      }
+    }
+  }
+
+  /**
+   * @return Whether a category count changed
+   */
+  private boolean countCategories(BlogPostChangedEvent event) {
+    if (categoryChangesDuringRebuild != null) {
+      categoryChangesDuringRebuild.add(event);
+    }
+    return applyCategoryChange(event);
+  }
+
+  private boolean applyCategoryChange(BlogPostChangedEvent event) {
+    long recency = epochMillis(event.createdAt());
+    switch (event.type()) {
+      case CREATED -> countCategory(event.category(), 1, recency);
+      case DELETED -> countCategory(event.category(), -1, recency);
+      case UPDATED -> {
+        if (!event.categoryChanged()) {
+          return false;
+        }
+        countCategory(event.previousCategory(), -1, recency);
+        countCategory(event.category(), 1, recency);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Merges the pending changes into a new index, so that queries stay on the arrays.
+   */
+  @Scheduled(fixedDelayString = "${blogpost.suggest.compactMillis:10000}")
+  public synchronized void compact() {
+    if (stale) {
+      rebuild();
+      return;
+    }
+    PrefixIndex index = titles;
+    if (index == null || (pending.isEmpty() && removed.isEmpty())) {
+      return;
+    }
+    Map<UUID, PendingTitle> merged = Map.copyOf(pending);
+    Set<UUID> dropped = Set.copyOf(removed);
+    List<PrefixIndex.Entry> entries = new ArrayList<>(index.size() + merged.size());
+    for (PrefixIndex.Entry entry : index.entries()) {
+      if (!merged.containsKey(entry.id()) && !dropped.contains(entry.id())) {
+        entries.add(entry);
+      }
+    }
+    merged.values().forEach(title -> entries.add(title.entry()));
+    replace(PrefixIndex.of(entries), merged, dropped);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  @Scheduled(fixedDelayString = "${blogpost.suggest.rebuildMillis:600000}",
+             initialDelayString = "${blogpost.suggest.rebuildMillis:600000}")
+  public synchronized void rebuild() {
+    // Changes recorded before the read are part of it, later ones stay pending
+    stale = false;
+    Map<UUID, PendingTitle> merged = Map.copyOf(pending);
+    Set<UUID> dropped = Set.copyOf(removed);
+    synchronized (categoryStats) {
+      categoryChangesDuringRebuild = new ArrayList<>();
+    }
+    List<PrefixIndex.Entry> entries = new ArrayList<>();
+    Map<String, CategoryStats> stats = new HashMap<>();
+    try {
+      for (BlogPostSuggestSource source : blogPostRepository.findSuggestSources()) {
+        long recency = epochMillis(source.getCreatedAt());
+        entries.add(new PrefixIndex.Entry(source.getId(), source.getTitle(), recency));
+        stats.computeIfAbsent(source.getCategory(), k -> new CategoryStats()).add(1, recency);
+      }
+    } catch (RuntimeException e) {
+      synchronized (categoryStats) {
+        categoryChangesDuringRebuild = null;
+      }
+      throw e;
+    }
+    // The counts replace the running ones together with the changes that committed during the read,
+    // which the read may have missed. A change whose listener ran after the read started although
+    // it committed before is counted twice until the next rebuild.
+    synchronized (categoryStats) {
+      categoryStats.clear();
+      categoryStats.putAll(stats);
+      categoryChangesDuringRebuild.forEach(this::applyCategoryChange);
+      categoryChangesDuringRebuild = null;
+      categories = categoryIndex();
+    }
+    replace(PrefixIndex.of(entries), merged, dropped);
+    log.debug("Rebuilt suggestion index with {} titles and {} categories", entries.size(), stats.size());
+  }
+
+  private void replace(PrefixIndex index, Map<UUID, PendingTitle> merged, Set<UUID> dropped) {
+    titles = index;
+    // Only forget changes that the new index contains, not ones recorded while it was built
+    merged.forEach(pending::remove);
+    removed.removeAll(dropped);
+  }
+
+  private void countCategory(String category, int delta, long recency) {
+    CategoryStats stats = categoryStats.computeIfAbsent(category, k -> new CategoryStats());
+    stats.add(delta, recency);
+    if (stats.count <= 0) {
+      categoryStats.remove(category);
+    }
+  }
+
+  private PrefixIndex categoryIndex() {
+    return PrefixIndex.of(categoryStats.entrySet().stream()
+        .map(e -> new PrefixIndex.Entry(null, e.getKey(), e.getValue().newest))
+        .toList());
+  }
+
+  private static long epochMillis(LocalDateTime dateTime) {
+    return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  // Normalized once when recorded, queries compare every pending title with the prefix
+  private record PendingTitle(PrefixIndex.Entry entry, String key) {
+
+    static PendingTitle of(PrefixIndex.Entry entry) {
+      return new PendingTitle(entry, PrefixIndex.normalize(entry.text()));
+    }
+  }
+
+  private static final class CategoryStats {
+
+    private long count;
+    // Not lowered by deletions until the next rebuild
+    private long newest;
+
+    void add(long delta, long recency) {
+      count += delta;
+      if (delta > 0) {
+        newest = Math.max(newest, recency);
+      }
+    }
+  }
+}
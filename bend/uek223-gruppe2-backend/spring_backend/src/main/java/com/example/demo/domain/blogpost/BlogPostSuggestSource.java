@@ -0,0 +1,18 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the columns the suggestion index is built from.
+ */
+public interface BlogPostSuggestSource {
+
+  UUID getId();
+
+  String getTitle();
+
+  String getCategory();
+
+  LocalDateTime getCreatedAt();
+}
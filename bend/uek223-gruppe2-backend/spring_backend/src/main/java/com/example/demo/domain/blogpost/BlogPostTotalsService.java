@@ -0,0 +1,145 @@
+package com.example.demo.domain.blogpost;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * UC4: In-memory post counts for every filter combination of the list endpoint, so that list
+ * requests can report totals without running {@code count(*)}. The counts follow committed
+ * {@link BlogPostChangedEvent}s and are replaced periodically by a single grouped count, which also
+ * corrects drift from changes made on other nodes or directly in the database. Events that arrive
+ * while the grouped count runs are buffered and replayed onto its result, so the reconciliation
+ * does not lose them.
+ */
+@Log4j2
+@Service
+public class BlogPostTotalsService {
+
+  private final BlogPostRepository blogPostRepository;
+  private volatile Totals totals;
+  private final Object rebuildLock = new Object();
+  // Events committed since the running reconciliation started, null while none runs
+  private List<BlogPostChangedEvent> pendingDuringRebuild;
+
+  @Autowired
+  public BlogPostTotalsService(BlogPostRepository blogPostRepository) {
+    this.blogPostRepository = blogPostRepository;
+  }
+
+  /**
+   * @param category Optional category filter
+   * @param authorId Optional author ID filter
+   * @return Number of posts matching the filters, or empty before the first reconciliation
+   */
+  public OptionalLong total(String category, UUID authorId) {
+    Totals current = totals;
+    if (current == null) {
+      return OptionalLong.empty();
+    }
+    boolean hasCategory = category != null && !category.isBlank();
+    AtomicLong count;
+    if (hasCategory && authorId != null) {
+      count = current.byCategoryAndAuthor.get(new CategoryAndAuthor(category, authorId));
+    } else if (hasCategory) {
+      count = current.byCategory.get(category);
+    } else if (authorId != null) {
+      count = current.byAuthor.get(authorId);
+    } else {
+      count = current.all;
+    }
+    return OptionalLong.of(count == null ? 0 : Math.max(0, count.get()));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBlogPostChanged(BlogPostChangedEvent event) {
+    Totals current;
+    synchronized (rebuildLock) {
+      if (pendingDuringRebuild != null) {
+        pendingDuringRebuild.add(event);
+      }
+      current = totals;
+    }
+    if (current != null) {
+      apply(current, event);
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBlogPostsChanged(BlogPostsChangedEvent event) {
+    event.changes().forEach(this::onBlogPostChanged);
+  }
+
+  @Scheduled(fixedDelayString = "${blogpost.totals.reconcileMillis:300000}")
+  public synchronized void reconcile() {
+    synchronized (rebuildLock) {
+      pendingDuringRebuild = new ArrayList<>();
+    }
+    Totals fresh = new Totals();
+    Totals previous;
+    try {
+      for (BlogPostCount count : blogPostRepository.countGroupedByCategoryAndAuthor()) {
+        fresh.add(count.getCategory(), count.getAuthorId(), count.getTotal());
+      }
+    } catch (RuntimeException e) {
+      synchronized (rebuildLock) {
+        pendingDuringRebuild = null;
+      }
+      throw e;
+    }
+    // Replayed and swapped under one lock, so that no event falls in between. An event whose commit
+    // preceded the count but whose listener ran after it started is counted twice until the next
+    // reconciliation, a window far shorter than the count itself.
+    synchronized (rebuildLock) {
+      pendingDuringRebuild.forEach(event -> apply(fresh, event));
+      pendingDuringRebuild = null;
+      previous = totals;
+      totals = fresh;
+    }
+    if (previous != null && previous.all.get() != fresh.all.get()) {
+      log.debug("Reconciled blog post totals from {} to {}", previous.all.get(), fresh.all.get());
+    }
+  }
+
+  private static void apply(Totals current, BlogPostChangedEvent event) {
+    switch (event.type()) {
+      case CREATED -> current.add(event.category(), event.authorId(), 1);
+      case DELETED -> current.add(event.category(), event.authorId(), -1);
+      case UPDATED -> {
+        if (event.categoryChanged()) {
+          current.add(event.previousCategory(), event.authorId(), -1);
+          current.add(event.category(), event.authorId(), 1);
+        }
+      }
+    }
+  }
+
+  private record CategoryAndAuthor(String category, UUID authorId) {
+  }
+
+  private static final class Totals {
+
+    private final AtomicLong all = new AtomicLong();
+    private final Map<String, AtomicLong> byCategory = new ConcurrentHashMap<>();
+    private final Map<UUID, AtomicLong> byAuthor = new ConcurrentHashMap<>();
+    private final Map<CategoryAndAuthor, AtomicLong> byCategoryAndAuthor = new ConcurrentHashMap<>();
+
+    void add(String category, UUID authorId, long delta) {
+      all.addAndGet(delta);
+      byCategory.computeIfAbsent(category, k -> new AtomicLong()).addAndGet(delta);
+      byAuthor.computeIfAbsent(authorId, k -> new AtomicLong()).addAndGet(delta);
+      byCategoryAndAuthor.computeIfAbsent(new CategoryAndAuthor(category, authorId), k -> new AtomicLong())
+                         .addAndGet(delta);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.domain.blogpost;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Builds strong ETags and {@code Last-Modified} values for blog post responses from post ids and
+ * {@code updatedAt}, which {@link BlogPost} bumps on every change. A list ETag also covers the
+ * response variant and the paging fields, since they are part of the body as well.
+ */
+final class BlogPostVersion {
+
+  private final MessageDigest digest;
+  private LocalDateTime lastModified;
+
+  BlogPostVersion(Object... variant) {
+    try {
+      this.digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    for (Object part : variant) {
+      update(part);
+    }
+  }
+
+  static String etag(UUID id, LocalDateTime updatedAt) {
+    return id + "-" + Long.toHexString(epochMicros(updatedAt));
+  }
+
+  static long epochMillis(LocalDateTime updatedAt) {
+    return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  BlogPostVersion add(UUID id, LocalDateTime updatedAt) {
+    update(id);
+    update(updatedAt);
+    if (updatedAt != null && (lastModified == null || updatedAt.isAfter(lastModified))) {
+      lastModified = updatedAt;
+    }
+    return this;
+  }
+
+  String etag() {
+    byte[] hash = digest.digest();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27);
+  }
+
+  long lastModifiedMillis() {
+    return epochMillis(lastModified);
+  }
+
+  private void update(Object part) {
+    digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static long epochMicros(LocalDateTime updatedAt) {
+    if (updatedAt == null) {
+      return 0;
+    }
+    var instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+    return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+  }
+}
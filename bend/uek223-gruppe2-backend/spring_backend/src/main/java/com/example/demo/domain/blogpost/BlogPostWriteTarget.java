@@ -0,0 +1,12 @@
+package com.example.demo.domain.blogpost;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pre-image of a post written by a conditional update or delete: its version before the write and
+ * the values listeners of {@link BlogPostChangedEvent} need, without the post text.
+ */
+public record BlogPostWriteTarget(UUID id, String title, String category, LocalDateTime createdAt, long version,
+                                  UUID authorId, String authorFirstName, String authorLastName) {
+}
@@ -0,0 +1,12 @@
+package com.example.demo.domain.blogpost;
+
+import java.util.List;
+
+/**
+ * Published by bulk writes such as {@link BlogPostImportService} once per batch instead of one
+ * {@link BlogPostChangedEvent} per post, so that listeners can apply a batch at once.
+ *
+ * @param changes One change per affected post
+ */
+public record BlogPostsChangedEvent(List<BlogPostChangedEvent> changes) {
+}
@@ -0,0 +1,168 @@
+package com.example.demo.domain.blogpost;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over short texts such as titles or categories. Entries are kept in
+ * parallel arrays sorted by their normalized text, so a prefix maps to one contiguous range found by
+ * binary search. A segment tree over the recency values returns the newest entries of that range
+ * in O(k log n) without scanning it.
+ */
+public final class PrefixIndex {
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SPACES = Pattern.compile("\\s+");
+
+  /**
+   * @param id      Post ID, or null for entries without one such as categories
+   * @param text    Text as shown to users
+   * @param recency Larger values are suggested first, e.g. the creation time in epoch millis
+   */
+  public record Entry(UUID id, String text, long recency) {
+  }
+
+  private final String[] keys;
+  private final String[] texts;
+  private final long[] idHigh;
+  private final long[] idLow;
+  private final long[] recency;
+  // tree[size + i] = i, inner nodes hold the position of the newer of their two children
+  private final int[] tree;
+  private final int size;
+
+  private PrefixIndex(List<Entry> entries) {
+    size = entries.size();
+    keys = new String[size];
+    texts = new String[size];
+    idHigh = new long[size];
+    idLow = new long[size];
+    recency = new long[size];
+    String[] normalized = entries.stream().map(e -> normalize(e.text())).toArray(String[]::new);
+    Integer[] order = new Integer[size];
+    Arrays.setAll(order, i -> i);
+    Arrays.sort(order, Comparator.comparing((Integer i) -> normalized[i]));
+    for (int i = 0; i < size; i++) {
+      Entry entry = entries.get(order[i]);
+      keys[i] = normalized[order[i]];
+      // Share the string when normalizing did not change it
+      texts[i] = keys[i].equals(entry.text()) ? keys[i] : entry.text();
+      idHigh[i] = entry.id() == null ? 0 : entry.id().getMostSignificantBits();
+      idLow[i] = entry.id() == null ? 0 : entry.id().getLeastSignificantBits();
+      recency[i] = entry.recency();
+    }
+    tree = new int[2 * Math.max(size, 1)];
+    for (int i = 0; i < size; i++) {
+      tree[size + i] = i;
+    }
+    for (int node = size - 1; node > 0; node--) {
+      tree[node] = newer(tree[2 * node], tree[2 * node + 1]);
+    }
+  }
+
+  public static PrefixIndex of(List<Entry> entries) {
+    return new PrefixIndex(entries);
+  }
+
+  /**
+   * Lower case without diacritics and with single spaces, so that "Über  Docker" is found by "uber d".
+   */
+  public static String normalize(String text) {
+    String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+    return SPACES.matcher(decomposed.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param prefix Prefix as typed by the user, normalized before the lookup
+   * @param limit  Maximum number of entries
+   * @param hidden Entries to skip, e.g. those replaced since the index was built
+   * @return Newest entries whose normalized text starts with the prefix, newest first
+   */
+  public List<Entry> top(String prefix, int limit, Predicate<UUID> hidden) {
+    String key = normalize(prefix);
+    int from = lowerBound(key);
+    int to = lowerBound(key + Character.MAX_VALUE);
+    List<Entry> result = new ArrayList<>(Math.min(limit, to - from));
+    if (from >= to) {
+      return result;
+    }
+    // Each candidate is the newest entry of a range; taking it splits the range in two
+    PriorityQueue<int[]> candidates = new PriorityQueue<>((a, b) -> Long.compare(recency[b[0]], recency[a[0]]));
+    candidates.add(new int[] {newest(from, to), from, to});
+    while (!candidates.isEmpty() && result.size() < limit) {
+      int[] candidate = candidates.poll();
+      int position = candidate[0];
+      Entry entry = entryAt(position);
+      if (entry.id() == null || !hidden.test(entry.id())) {
+        result.add(entry);
+      }
+      if (candidate[1] < position) {
+        candidates.add(new int[] {newest(candidate[1], position), candidate[1], position});
+      }
+      if (position + 1 < candidate[2]) {
+        candidates.add(new int[] {newest(position + 1, candidate[2]), position + 1, candidate[2]});
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return All entries in key order, for merging into the next index
+   */
+  public List<Entry> entries() {
+    List<Entry> entries = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      entries.add(entryAt(i));
+    }
+    return entries;
+  }
+
+  private Entry entryAt(int position) {
+    UUID id = idHigh[position] == 0 && idLow[position] == 0 ? null : new UUID(idHigh[position], idLow[position]);
+    return new Entry(id, texts[position], recency[position]);
+  }
+
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].compareTo(key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  // Position of the newest entry in [from, to)
+  private int newest(int from, int to) {
+    int best = from;
+    for (int l = from + size, r = to + size; l < r; l >>= 1, r >>= 1) {
+      if ((l & 1) == 1) {
+        best = newer(best, tree[l++]);
+      }
+      if ((r & 1) == 1) {
+        best = newer(best, tree[--r]);
+      }
+    }
+    return best;
+  }
+
+  private int newer(int a, int b) {
+    return recency[b] > recency[a] ? b : a;
+  }
+}
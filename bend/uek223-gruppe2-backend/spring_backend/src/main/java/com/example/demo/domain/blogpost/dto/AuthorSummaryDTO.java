@@ -0,0 +1,29 @@
+package com.example.demo.domain.blogpost.dto;
+
+import com.example.demo.core.generic.AbstractDTO;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Author as shown next to a blog post, without the roles and authorities of the full user.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Accessors(chain = true)
+public class AuthorSummaryDTO extends AbstractDTO {
+
+  private String firstName;
+
+  private String lastName;
+
+  public AuthorSummaryDTO(UUID id, String firstName, String lastName) {
+    super(id);
+    this.firstName = firstName;
+    this.lastName = lastName;
+  }
+
+}
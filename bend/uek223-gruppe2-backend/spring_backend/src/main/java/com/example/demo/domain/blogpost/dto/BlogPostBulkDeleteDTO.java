@@ -0,0 +1,29 @@
+package com.example.demo.domain.blogpost.dto;
+
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Posts to delete, by ID list and/or filter. At least one criterion is required.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class BlogPostBulkDeleteDTO {
+
+  @Size(max = 10000, message = "At most 10000 IDs can be deleted per request")
+  private List<UUID> ids;
+
+  private UUID authorId;
+
+  @Size(max = 100, message = "Category must be at most 100 characters long")
+  private String category;
+
+  private LocalDateTime createdBefore;
+
+}
@@ -0,0 +1,30 @@
+package com.example.demo.domain.blogpost.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Moves the posts matching the filter to {@code newCategory}. At least one filter is required.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class BlogPostBulkRecategorizeDTO {
+
+  private UUID authorId;
+
+  @Size(max = 100, message = "Category must be at most 100 characters long")
+  private String category;
+
+  private LocalDateTime createdBefore;
+
+  @NotBlank(message = "New category is required")
+  @Size(max = 100, message = "New category must be at most 100 characters long")
+  private String newCategory;
+
+}
@@ -0,0 +1,20 @@
+package com.example.demo.domain.blogpost.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of a bulk moderation operation, which committed {@code chunks} transactions.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogPostBulkResultDTO {
+
+  private long affected;
+  private int chunks;
+
+}
@@ -0,0 +1,24 @@
+package com.example.demo.domain.blogpost.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO for keyset-paginated blog post responses. {@code nextCursor} is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogPostCursorResponseDTO {
+
+    private List<BlogPostDTO> content;
+    private String nextCursor;
+    private int pageSize;
+    private boolean hasNext;
+
+}
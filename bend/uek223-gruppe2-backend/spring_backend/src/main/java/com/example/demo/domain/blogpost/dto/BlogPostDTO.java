@@ -1,7 +1,7 @@
 package com.example.demo.domain.blogpost.dto;
 
 import com.example.demo.core.generic.AbstractDTO;
-import com.example.demo.domain.user.dto.UserDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import jakarta.validation.Valid;
@@ -12,6 +12,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+// Sparse listings leave unrequested fields null, which are then omitted
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @Getter
 @Setter
@@ -26,18 +28,24 @@ public class BlogPostDTO extends AbstractDTO {
   @Size(min = 20, message = "Text must be at least 20 characters long")
   private String text;
 
+  // Shortened text, only set by the summary listing
+  private String excerpt;
+
   @NotBlank(message = "Category is required")
   private String category;
 
   @Valid
-  private UserDTO author;
+  private AuthorSummaryDTO author;
 
   private LocalDateTime createdAt;
 
   private LocalDateTime updatedAt;
 
+  // Sent back with updates and deletes to detect concurrent changes
+  private Long version;
+
   public BlogPostDTO(UUID id, String title, String text, String category, 
-                     UserDTO author, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                     AuthorSummaryDTO author, LocalDateTime createdAt, LocalDateTime updatedAt) {
     super(id);
     this.title = title;
     this.text = text;
@@ -0,0 +1,24 @@
+package com.example.demo.domain.blogpost.dto;
+
+import jakarta.validation.constraints.PastOrPresent;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of an NDJSON import. Author and creation time are optional, so that migrated posts can
+ * keep them, and default to the importing user and the time of the import.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class BlogPostImportDTO extends BlogPostCreateDTO {
+
+  private UUID authorId;
+
+  @PastOrPresent(message = "Creation time must not be in the future")
+  private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,32 @@
+package com.example.demo.domain.blogpost.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of an NDJSON import. {@code errors} lists the first rejected lines only, {@code failed}
+ * counts all of them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogPostImportResultDTO {
+
+  private long imported;
+  private long failed;
+  private List<LineError> errors;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class LineError {
+
+    private long line;
+    private String message;
+  }
+}
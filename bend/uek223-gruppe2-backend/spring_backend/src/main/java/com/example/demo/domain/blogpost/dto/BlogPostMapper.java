@@ -2,28 +2,33 @@ package com.example.demo.domain.blogpost.dto;
 
 import com.example.demo.core.generic.AbstractMapper;
 import com.example.demo.domain.blogpost.BlogPost;
+import org.mapstruct.DecoratedWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+@DecoratedWith(TimedBlogPostMapper.class)
 public interface BlogPostMapper extends AbstractMapper<BlogPost, BlogPostDTO> {
   
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "author", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "version", ignore = true)
   BlogPost fromDTO(BlogPostDTO dto);
 
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "author", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "version", ignore = true)
   BlogPost fromCreateDTO(BlogPostCreateDTO dto);
 
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "author", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "version", ignore = true)
   BlogPost fromUpdateDTO(BlogPostUpdateDTO dto);
 }
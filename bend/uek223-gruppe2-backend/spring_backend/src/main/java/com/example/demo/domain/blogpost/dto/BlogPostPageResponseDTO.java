@@ -8,7 +8,8 @@ import lombok.Setter;
 import java.util.List;
 
 /**
- * DTO for paginated blog post responses (UC4)
+ * DTO for paginated blog post responses (UC4). Without exact totals, {@code totalPages} and
+ * {@code totalElements} are -1 and {@code hasNext} tells whether another page follows.
  */
 @Getter
 @Setter
@@ -23,5 +24,6 @@ public class BlogPostPageResponseDTO {
     private int pageSize;
     private boolean first;
     private boolean last;
+    private boolean hasNext;
 
 }
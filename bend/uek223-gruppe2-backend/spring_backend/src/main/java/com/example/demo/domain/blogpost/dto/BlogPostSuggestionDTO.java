@@ -0,0 +1,28 @@
+package com.example.demo.domain.blogpost.dto;
+
+import com.example.demo.core.generic.AbstractDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Autocomplete suggestion. {@code id} is the post of a title suggestion and absent for categories.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BlogPostSuggestionDTO extends AbstractDTO {
+
+  private String text;
+
+  public BlogPostSuggestionDTO(UUID id, String text) {
+    super(id);
+    this.text = text;
+  }
+
+}
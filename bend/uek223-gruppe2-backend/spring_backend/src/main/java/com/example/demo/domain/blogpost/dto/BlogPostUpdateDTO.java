@@ -1,6 +1,7 @@
 package com.example.demo.domain.blogpost.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,6 +26,10 @@ public class BlogPostUpdateDTO {
   @Size(max = 100, message = "Category must be at most 100 characters long")
   private String category;
 
+  // Version the client read, a newer version in the database fails the update with 409
+  @NotNull(message = "Version is required")
+  private Long version;
+
   public BlogPostUpdateDTO(String title, String text, String category) {
     this.title = title;
     this.text = text;
@@ -0,0 +1,74 @@
+package com.example.demo.domain.blogpost.dto;
+
+import com.example.demo.domain.blogpost.BlogPost;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+/**
+ * Records every mapping of {@link BlogPostMapper} as {@code blogpost.mapper}, tagged with the
+ * mapper method. MapStruct registers it in place of the generated mapper, which it injects as
+ * {@code delegate}.
+ */
+public abstract class TimedBlogPostMapper implements BlogPostMapper {
+
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  @Autowired
+  @Qualifier("delegate")
+  private BlogPostMapper delegate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Override
+  public BlogPost fromDTO(BlogPostDTO dto) {
+    return time("fromDTO", () -> delegate.fromDTO(dto));
+  }
+
+  @Override
+  public List<BlogPost> fromDTOs(List<BlogPostDTO> dtos) {
+    return time("fromDTOs", () -> delegate.fromDTOs(dtos));
+  }
+
+  @Override
+  public Set<BlogPost> fromDTOs(Set<BlogPostDTO> dtos) {
+    return time("fromDTOs", () -> delegate.fromDTOs(dtos));
+  }
+
+  @Override
+  public BlogPostDTO toDTO(BlogPost blogPost) {
+    return time("toDTO", () -> delegate.toDTO(blogPost));
+  }
+
+  @Override
+  public List<BlogPostDTO> toDTOs(List<BlogPost> blogPosts) {
+    return time("toDTOs", () -> delegate.toDTOs(blogPosts));
+  }
+
+  @Override
+  public Set<BlogPostDTO> toDTOs(Set<BlogPost> blogPosts) {
+    return time("toDTOs", () -> delegate.toDTOs(blogPosts));
+  }
+
+  @Override
+  public BlogPost fromCreateDTO(BlogPostCreateDTO dto) {
+    return time("fromCreateDTO", () -> delegate.fromCreateDTO(dto));
+  }
+
+  @Override
+  public BlogPost fromUpdateDTO(BlogPostUpdateDTO dto) {
+    return time("fromUpdateDTO", () -> delegate.fromUpdateDTO(dto));
+  }
+
+  private <T> T time(String method, Supplier<T> mapping) {
+    return timers.computeIfAbsent(method, name -> meterRegistry.timer("blogpost.mapper", "method", name))
+                 .record(mapping);
+  }
+}
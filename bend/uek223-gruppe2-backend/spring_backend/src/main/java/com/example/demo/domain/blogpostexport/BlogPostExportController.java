@@ -0,0 +1,175 @@
+package com.example.demo.domain.blogpostexport;
+
+import com.example.demo.domain.blogpostexport.dto.ExportJobDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/blogpost/admin/exports")
+@Tag(name = "Blog Post Export", description = "Background exports of all blog posts")
+public class BlogPostExportController {
+
+  // Tomcat sends the file with sendfile(2) after the servlet returns when these request attributes are set
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private final BlogPostExportService blogPostExportService;
+
+  @Autowired
+  public BlogPostExportController(BlogPostExportService blogPostExportService) {
+    this.blogPostExportService = blogPostExportService;
+  }
+
+  @Operation(summary = "Admin starts an export", description = "Writes all blog posts to a gzip-compressed NDJSON or CSV file in the background")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Export queued, poll the returned location for its status"),
+      @ApiResponse(responseCode = "403", description = "User is not admin"),
+      @ApiResponse(responseCode = "503", description = "Too many exports are waiting")
+  })
+  @PostMapping({ "", "/" })
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<ExportJobDTO> startExport(
+      @Parameter(description = "File format: 'ndjson' or 'csv'") @RequestParam(defaultValue = "ndjson") String format) {
+    ExportFormat exportFormat = ExportFormat.fromParam(format);
+    try {
+      ExportJob job = blogPostExportService.start(exportFormat);
+      return ResponseEntity.accepted().location(URI.create("/blogpost/admin/exports/" + job.getId())).body(toDTO(job));
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "60").build();
+    }
+  }
+
+  @Operation(summary = "Admin lists exports", description = "Jobs of this node, newest first")
+  @GetMapping({ "", "/" })
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<List<ExportJobDTO>> getExports() {
+    return new ResponseEntity<>(blogPostExportService.findAll().stream()
+        .sorted(Comparator.comparing(ExportJob::getCreatedAt).reversed())
+        .map(BlogPostExportController::toDTO)
+        .toList(), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Admin reads an export's status")
+  @GetMapping("/{id}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<ExportJobDTO> getExport(@Parameter(description = "Export job ID") @PathVariable UUID id) {
+    return new ResponseEntity<>(toDTO(findJob(id)), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Admin downloads an export", description = "Serves the finished file, a single byte range may be requested with Range")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Whole file"),
+      @ApiResponse(responseCode = "206", description = "Requested range"),
+      @ApiResponse(responseCode = "409", description = "Export has not finished"),
+      @ApiResponse(responseCode = "416", description = "Range outside the file")
+  })
+  @GetMapping("/{id}/file")
+  @PreAuthorize("hasRole('ADMIN')")
+  public void downloadExport(@Parameter(description = "Export job ID") @PathVariable UUID id,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+    ExportJob job = findJob(id);
+    if (job.getStatus() != ExportJob.Status.DONE) {
+      response.setStatus(HttpStatus.CONFLICT.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, "10");
+      return;
+    }
+
+    long length = job.getSize();
+    String etag = "\"" + job.getId() + "\"";
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename(job.getFileName()).build().toString());
+    response.setContentType("application/gzip");
+
+    long start = 0;
+    long end = length - 1;
+    List<HttpRange> ranges = requestedRanges(request, etag);
+    // Several ranges would need a multipart body, the whole file is an allowed answer to them
+    if (ranges.size() == 1) {
+      HttpRange range = ranges.get(0);
+      try {
+        start = range.getRangeStart(length);
+        end = range.getRangeEnd(length);
+      } catch (IllegalArgumentException e) {
+        start = length;
+      }
+      if (start >= length || start > end) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return;
+      }
+      response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+    }
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, job.getFile().toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+    try (FileChannel file = FileChannel.open(job.getFile())) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      while (position <= end) {
+        position += file.transferTo(position, end + 1 - position, out);
+      }
+    }
+  }
+
+  private ExportJob findJob(UUID id) {
+    return blogPostExportService.find(id)
+        .orElseThrow(() -> new NoSuchElementException("Export job not found with id: " + id));
+  }
+
+  // A Range with a stale If-Range is answered with the whole file
+  private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag) {
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange != null && !ifRange.equals(etag)) {
+      return List.of();
+    }
+    try {
+      return HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+    } catch (IllegalArgumentException e) {
+      return List.of();
+    }
+  }
+
+  private static ExportJobDTO toDTO(ExportJob job) {
+    return new ExportJobDTO(job.getId(), job.getFormat().param(), job.getStatus(), job.getRows(), job.getSize(),
+        job.getCreatedAt(), job.getFinishedAt(), job.getError());
+  }
+}
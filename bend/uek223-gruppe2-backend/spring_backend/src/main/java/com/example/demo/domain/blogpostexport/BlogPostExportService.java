@@ -0,0 +1,260 @@
+package com.example.demo.domain.blogpostexport;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes all blog posts to a gzip-compressed file in the background. The table is read in one
+ * read-only transaction with a fetch size, which PostgreSQL serves from a server-side cursor, so
+ * neither the export thread nor the database hold more than one fetch of rows at a time. Jobs are
+ * kept in memory, so they are only known to the node that runs them and are lost on restart.
+ */
+@Log4j2
+@Service
+public class BlogPostExportService implements DisposableBean {
+
+  private static final String SELECT = "select id, title, text, category, author_id, created_at, updated_at "
+      + "from blog_post";
+  private static final String FILE_PREFIX = "blog-posts-";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Path directory;
+  private final long retentionMillis;
+  private final ThreadPoolExecutor executor;
+  private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+  @Autowired
+  public BlogPostExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               @Value("${blogpost.export.directory:${java.io.tmpdir}/blogpost-exports}") String directory,
+                               @Value("${blogpost.export.fetchSize:1000}") int fetchSize,
+                               @Value("${blogpost.export.threads:1}") int threads,
+                               @Value("${blogpost.export.queueCapacity:4}") int queueCapacity,
+                               @Value("${blogpost.export.retentionMillis:86400000}") long retentionMillis)
+      throws IOException {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.objectMapper = objectMapper;
+    this.directory = Files.createDirectories(Paths.get(directory));
+    this.retentionMillis = retentionMillis;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+      Thread thread = new Thread(runnable, "blogpost-export-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }, new ThreadPoolExecutor.AbortPolicy());
+    deleteOrphanedFiles();
+  }
+
+  /**
+   * @throws RejectedExecutionException if {@code queueCapacity} exports are already waiting
+   */
+  public ExportJob start(ExportFormat format) {
+    UUID id = UUID.randomUUID();
+    ExportJob job = new ExportJob(id, format, directory.resolve(FILE_PREFIX + id + format.extension()), Instant.now());
+    jobs.put(id, job);
+    try {
+      executor.execute(() -> run(job));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(id);
+      throw e;
+    }
+    return job;
+  }
+
+  public Optional<ExportJob> find(UUID id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  public Collection<ExportJob> findAll() {
+    return jobs.values();
+  }
+
+  @Scheduled(fixedDelayString = "${blogpost.export.purgeMillis:3600000}")
+  public void purge() {
+    Instant cutoff = Instant.now().minusMillis(retentionMillis);
+    jobs.values().removeIf(job -> {
+      if (job.getFinishedAt() == null || job.getFinishedAt().isAfter(cutoff)) {
+        return false;
+      }
+      deleteQuietly(job.getFile());
+      return true;
+    });
+  }
+
+  private void run(ExportJob job) {
+    job.started();
+    Path part = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+    try {
+      try (RowWriter writer = writer(job.getFormat(),
+          new GZIPOutputStream(Files.newOutputStream(part), 1 << 16))) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT, row -> {
+          try {
+            writer.write(row);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          job.rowWritten();
+        }));
+      }
+      Files.move(part, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+      job.finished(Files.size(job.getFile()), Instant.now());
+      log.info("Exported {} blog posts to {}", job.getRows(), job.getFile());
+    } catch (IOException | RuntimeException e) {
+      deleteQuietly(part);
+      job.failed(e.getMessage(), Instant.now());
+      log.warn("Blog post export {} failed", job.getId(), e);
+    }
+  }
+
+  private RowWriter writer(ExportFormat format, OutputStream out) throws IOException {
+    return switch (format) {
+      case NDJSON -> new NdjsonWriter(objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8));
+      case CSV -> new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16));
+    };
+  }
+
+  // Files of jobs from before a restart can no longer be requested
+  private void deleteOrphanedFiles() throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+      files.forEach(BlogPostExportService::deleteQuietly);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete export file {}", file, e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private interface RowWriter extends Closeable {
+
+    void write(ResultSet row) throws SQLException, IOException;
+  }
+
+  /**
+   * One JSON object per line with the fields accepted by the NDJSON import.
+   */
+  private static final class NdjsonWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonWriter(JsonGenerator generator) {
+      this.generator = generator;
+      generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+      generator.writeStartObject();
+      generator.writeStringField("id", row.getString(1));
+      generator.writeStringField("title", row.getString(2));
+      generator.writeStringField("text", row.getString(3));
+      generator.writeStringField("category", row.getString(4));
+      generator.writeStringField("authorId", row.getString(5));
+      generator.writeStringField("createdAt", String.valueOf(row.getObject(6, LocalDateTime.class)));
+      generator.writeStringField("updatedAt", String.valueOf(row.getObject(7, LocalDateTime.class)));
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.close();
+    }
+  }
+
+  /**
+   * RFC 4180 CSV with a header line. Fields are always quoted, as titles and texts may contain
+   * separators and line breaks.
+   */
+  private static final class CsvWriter implements RowWriter {
+
+    private final Writer out;
+
+    CsvWriter(Writer out) throws IOException {
+      this.out = out;
+      out.write("id,title,text,category,author_id,created_at,updated_at\r\n");
+    }
+
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+      field(row.getString(1));
+      out.write(',');
+      field(row.getString(2));
+      out.write(',');
+      field(row.getString(3));
+      out.write(',');
+      field(row.getString(4));
+      out.write(',');
+      field(row.getString(5));
+      out.write(',');
+      field(String.valueOf(row.getObject(6, LocalDateTime.class)));
+      out.write(',');
+      field(String.valueOf(row.getObject(7, LocalDateTime.class)));
+      out.write("\r\n");
+    }
+
+    private void field(String value) throws IOException {
+      out.write('"');
+      out.write(value.replace("\"", "\"\""));
+      out.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.domain.blogpostexport;
+
+/**
+ * File formats of a blog post export. Both are written gzip-compressed.
+ */
+public enum ExportFormat {
+
+  NDJSON("ndjson", ".ndjson.gz"),
+  CSV("csv", ".csv.gz");
+
+  private final String param;
+  private final String extension;
+
+  ExportFormat(String param, String extension) {
+    this.param = param;
+    this.extension = extension;
+  }
+
+  public static ExportFormat fromParam(String format) {
+    for (ExportFormat value : values()) {
+      if (value.param.equalsIgnoreCase(format)) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Unknown export format '" + format + "', expected 'ndjson' or 'csv'");
+  }
+
+  public String param() {
+    return param;
+  }
+
+  public String extension() {
+    return extension;
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.domain.blogpostexport;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * State of one export, written by the export thread and read by status requests.
+ */
+@Getter
+public class ExportJob {
+
+  public enum Status {
+    QUEUED, RUNNING, DONE, FAILED
+  }
+
+  private final UUID id;
+  private final ExportFormat format;
+  private final Path file;
+  private final Instant createdAt;
+  private volatile Status status = Status.QUEUED;
+  private volatile long rows;
+  private volatile long size;
+  private volatile Instant finishedAt;
+  private volatile String error;
+
+  ExportJob(UUID id, ExportFormat format, Path file, Instant createdAt) {
+    this.id = id;
+    this.format = format;
+    this.file = file;
+    this.createdAt = createdAt;
+  }
+
+  void started() {
+    status = Status.RUNNING;
+  }
+
+  // Only called by the export thread, so the increment does not need to be atomic
+  void rowWritten() {
+    rows++;
+  }
+
+  void finished(long size, Instant at) {
+    this.size = size;
+    this.finishedAt = at;
+    this.status = Status.DONE;
+  }
+
+  void failed(String error, Instant at) {
+    this.error = error;
+    this.finishedAt = at;
+    this.status = Status.FAILED;
+  }
+
+  public String getFileName() {
+    return "blog-posts-" + id + format.extension();
+  }
+}
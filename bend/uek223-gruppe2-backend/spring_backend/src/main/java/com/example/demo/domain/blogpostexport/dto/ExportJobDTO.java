@@ -0,0 +1,32 @@
+package com.example.demo.domain.blogpostexport.dto;
+
+import com.example.demo.domain.blogpostexport.ExportJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Status of an export job. {@code size} is the compressed file size once the job is done,
+ * {@code error} is only set for failed jobs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobDTO {
+
+  private UUID id;
+  private String format;
+  private ExportJob.Status status;
+  private long rows;
+  private long size;
+  private Instant createdAt;
+  private Instant finishedAt;
+  private String error;
+
+}
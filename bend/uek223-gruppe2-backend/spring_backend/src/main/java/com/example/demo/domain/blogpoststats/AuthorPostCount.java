@@ -0,0 +1,35 @@
+package com.example.demo.domain.blogpoststats;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "blog_post_author_count",
+    indexes = @Index(name = "idx_blog_post_author_count_post_count", columnList = "post_count"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AuthorPostCount implements PostCountRow<UUID> {
+
+  @Id
+  @Column(columnDefinition = "uuid", name = "author_id", updatable = false, nullable = false)
+  private UUID authorId;
+
+  @Column(name = "post_count", nullable = false)
+  private long postCount;
+
+  @Override
+  public UUID key() {
+    return authorId;
+  }
+
+}
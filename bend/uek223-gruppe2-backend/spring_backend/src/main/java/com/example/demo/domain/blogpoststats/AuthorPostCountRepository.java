@@ -0,0 +1,35 @@
+package com.example.demo.domain.blogpoststats;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuthorPostCountRepository extends JpaRepository<AuthorPostCount, UUID> {
+
+  List<AuthorPostCount> findByPostCountGreaterThanOrderByPostCountDesc(long postCount, Pageable pageable);
+
+  @Modifying
+  @Query("update AuthorPostCount a set a.postCount = a.postCount + :delta where a.authorId = :authorId")
+  int increment(@Param("authorId") UUID authorId, @Param("delta") long delta);
+
+  @Modifying
+  @Query(value = "INSERT INTO blog_post_author_count (author_id, post_count) VALUES (:authorId, :postCount) "
+      + "ON CONFLICT DO NOTHING", nativeQuery = true)
+  int insertIfAbsent(@Param("authorId") UUID authorId, @Param("postCount") long postCount);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+  @Query("select a from AuthorPostCount a")
+  List<AuthorPostCount> findAllForUpdate();
+}
@@ -0,0 +1,62 @@
+package com.example.demo.domain.blogpoststats;
+
+import com.example.demo.domain.blogpoststats.dto.PostCountDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequestMapping("/blogpost/stats")
+@Tag(name = "Blog Post Statistics", description = "Dashboard aggregates, answered from counter tables")
+public class BlogPostStatsController {
+
+  private static final int MAX_DAYS = 366;
+
+  private final BlogPostStatsService blogPostStatsService;
+
+  @Autowired
+  public BlogPostStatsController(BlogPostStatsService blogPostStatsService) {
+    this.blogPostStatsService = blogPostStatsService;
+  }
+
+  @Operation(summary = "Posts per category", description = "Category facet counts, largest first")
+  @GetMapping("/categories")
+  public ResponseEntity<List<PostCountDTO>> getCategoryCounts() {
+    return new ResponseEntity<>(blogPostStatsService.findCategoryCounts(), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Posts per author", description = "Authors with the most posts, keyed by author ID")
+  @GetMapping("/authors")
+  public ResponseEntity<List<PostCountDTO>> getAuthorCounts(
+      @Parameter(description = "Maximum number of authors") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+    return new ResponseEntity<>(blogPostStatsService.findTopAuthors(limit), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Posts per day", description = "Histogram of created posts per day, 30 days up to today by default")
+  @GetMapping("/daily")
+  public ResponseEntity<List<PostCountDTO>> getDailyCounts(
+      @Parameter(description = "First day (ISO date)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @Parameter(description = "Last day (ISO date)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    LocalDate last = to != null ? to : LocalDate.now();
+    LocalDate first = from != null ? from : last.minusDays(29);
+    if (first.isAfter(last) || ChronoUnit.DAYS.between(first, last) >= MAX_DAYS) {
+      throw new IllegalArgumentException("Date range must be ordered and at most " + MAX_DAYS + " days long");
+    }
+    return new ResponseEntity<>(blogPostStatsService.findDailyCounts(first, last), HttpStatus.OK);
+  }
+}
@@ -0,0 +1,204 @@
+package com.example.demo.domain.blogpoststats;
+
+import com.example.demo.domain.blogpost.BlogPostChangedEvent;
+import com.example.demo.domain.blogpost.BlogPostCount;
+import com.example.demo.domain.blogpost.BlogPostDailyCount;
+import com.example.demo.domain.blogpost.BlogPostRepository;
+import com.example.demo.domain.blogpost.BlogPostsChangedEvent;
+import com.example.demo.domain.blogpoststats.dto.PostCountDTO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntBiFunction;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Dashboard aggregates: posts per category, per author and per day. The counter rows are updated
+ * in the transaction of every blog post write, so reads only touch the aggregate tables and cost
+ * the same however many posts there are. A periodic job recounts from {@code blog_post} and
+ * corrects the rows, e.g. after rows were changed directly in the database. It locks the rows
+ * before counting, so that writes committing meanwhile are not overwritten by a stale count.
+ */
+@Log4j2
+@Service
+public class BlogPostStatsService {
+
+  private final BlogPostRepository blogPostRepository;
+  private final CategoryPostCountRepository categoryRepository;
+  private final AuthorPostCountRepository authorRepository;
+  private final DailyPostCountRepository dailyRepository;
+
+  @Autowired
+  public BlogPostStatsService(BlogPostRepository blogPostRepository, CategoryPostCountRepository categoryRepository,
+                              AuthorPostCountRepository authorRepository, DailyPostCountRepository dailyRepository) {
+    this.blogPostRepository = blogPostRepository;
+    this.categoryRepository = categoryRepository;
+    this.authorRepository = authorRepository;
+    this.dailyRepository = dailyRepository;
+  }
+
+  // Synchronous, so the counters commit or roll back together with the post
+  @EventListener
+  @Transactional
+  public void onBlogPostChanged(BlogPostChangedEvent event) {
+    switch (event.type()) {
+      case CREATED -> count(event, 1);
+      case DELETED -> count(event, -1);
+      case UPDATED -> {
+        if (event.categoryChanged()) {
+          countCategory(event.previousCategory(), -1);
+          countCategory(event.category(), 1);
+        }
+      }
+    }
+  }
+
+  // Summed per key first, so a batch costs one update per distinct category, author and day
+  @EventListener
+  @Transactional
+  public void onBlogPostsChanged(BlogPostsChangedEvent event) {
+    Map<String, Long> byCategory = new HashMap<>();
+    Map<UUID, Long> byAuthor = new HashMap<>();
+    Map<LocalDate, Long> byDay = new HashMap<>();
+    for (BlogPostChangedEvent change : event.changes()) {
+      long delta = switch (change.type()) {
+        case CREATED -> 1;
+        case DELETED -> -1;
+        case UPDATED -> 0;
+      };
+      if (delta != 0) {
+        byCategory.merge(change.category(), delta, Long::sum);
+        byAuthor.merge(change.authorId(), delta, Long::sum);
+        byDay.merge(change.createdAt().toLocalDate(), delta, Long::sum);
+      } else if (change.categoryChanged()) {
+        byCategory.merge(change.previousCategory(), -1L, Long::sum);
+        byCategory.merge(change.category(), 1L, Long::sum);
+      }
+    }
+    byCategory.forEach((category, delta) -> {
+      if (delta != 0) {
+        countCategory(category, delta);
+      }
+    });
+    byAuthor.forEach(this::countAuthor);
+    byDay.forEach(this::countDay);
+  }
+
+  @Transactional(readOnly = true)
+  public List<PostCountDTO> findCategoryCounts() {
+    return categoryRepository.findByPostCountGreaterThanOrderByPostCountDescCategoryAsc(0).stream()
+        .map(row -> new PostCountDTO(row.getCategory(), row.getPostCount()))
+        .toList();
+  }
+
+  @Transactional(readOnly = true)
+  public List<PostCountDTO> findTopAuthors(int limit) {
+    return authorRepository.findByPostCountGreaterThanOrderByPostCountDesc(0, PageRequest.of(0, limit)).stream()
+        .map(row -> new PostCountDTO(row.getAuthorId().toString(), row.getPostCount()))
+        .toList();
+  }
+
+  /**
+   * @return One entry per day from {@code from} to {@code to}, including days without posts
+   */
+  @Transactional(readOnly = true)
+  public List<PostCountDTO> findDailyCounts(LocalDate from, LocalDate to) {
+    Map<LocalDate, Long> counts = new HashMap<>();
+    dailyRepository.findByPostDayBetweenOrderByPostDay(from, to)
+                   .forEach(row -> counts.put(row.getPostDay(), row.getPostCount()));
+    List<PostCountDTO> days = new ArrayList<>();
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      days.add(new PostCountDTO(day.toString(), counts.getOrDefault(day, 0L)));
+    }
+    return days;
+  }
+
+  @Scheduled(fixedDelayString = "${blogpost.stats.reconcileMillis:3600000}")
+  @Transactional
+  public void reconcile() {
+    // A row locked here is not held by a writer: writes whose post the count misses change it only
+    // after this commits. Rows a writer holds are skipped rather than waited for, which cannot
+    // deadlock with the writer, and are corrected by the next run.
+    List<CategoryPostCount> categories = categoryRepository.findAllForUpdate();
+    List<AuthorPostCount> authors = authorRepository.findAllForUpdate();
+    List<DailyPostCount> days = dailyRepository.findAllForUpdate();
+    Map<String, Long> byCategory = new HashMap<>();
+    Map<UUID, Long> byAuthor = new HashMap<>();
+    for (BlogPostCount count : blogPostRepository.countGroupedByCategoryAndAuthor()) {
+      byCategory.merge(count.getCategory(), count.getTotal(), Long::sum);
+      byAuthor.merge(count.getAuthorId(), count.getTotal(), Long::sum);
+    }
+    Map<LocalDate, Long> byDay = new HashMap<>();
+    for (BlogPostDailyCount count : blogPostRepository.countGroupedByDay()) {
+      byDay.put(count.getDay(), count.getTotal());
+    }
+    int corrected = correct(categories, byCategory, categoryRepository, categoryRepository::insertIfAbsent)
+        + correct(authors, byAuthor, authorRepository, authorRepository::insertIfAbsent)
+        + correct(days, byDay, dailyRepository, dailyRepository::insertIfAbsent);
+    if (corrected > 0) {
+      log.debug("Corrected {} blog post aggregate rows", corrected);
+    }
+  }
+
+  private void count(BlogPostChangedEvent event, long delta) {
+    countCategory(event.category(), delta);
+    countAuthor(event.authorId(), delta);
+    countDay(event.createdAt().toLocalDate(), delta);
+  }
+
+  private void countCategory(String category, long delta) {
+    // The row usually exists, so the insert is only attempted for a new key
+    if (categoryRepository.increment(category, delta) == 0) {
+      categoryRepository.insertIfAbsent(category, 0);
+      categoryRepository.increment(category, delta);
+    }
+  }
+
+  private void countAuthor(UUID authorId, long delta) {
+    if (authorRepository.increment(authorId, delta) == 0) {
+      authorRepository.insertIfAbsent(authorId, 0);
+      authorRepository.increment(authorId, delta);
+    }
+  }
+
+  private void countDay(LocalDate day, long delta) {
+    if (dailyRepository.increment(day, delta) == 0) {
+      dailyRepository.insertIfAbsent(day, 0);
+      dailyRepository.increment(day, delta);
+    }
+  }
+
+  private static <K, E extends PostCountRow<K>> int correct(List<E> locked, Map<K, Long> actual,
+                                                            JpaRepository<E, K> repository,
+                                                            ToIntBiFunction<K, Long> insertIfAbsent) {
+    int corrected = 0;
+    Map<K, Long> missing = new HashMap<>(actual);
+    for (E row : locked) {
+      Long count = missing.remove(row.key());
+      if (count == null) {
+        if (row.getPostCount() != 0) {
+          corrected++;
+        }
+        repository.delete(row);
+      } else if (count != row.getPostCount()) {
+        row.setPostCount(count);
+        corrected++;
+      }
+    }
+    // Keys without a row so far, skipped rows and rows a writer inserted meanwhile are kept as they are
+    for (Map.Entry<K, Long> entry : missing.entrySet()) {
+      corrected += insertIfAbsent.applyAsInt(entry.getKey(), entry.getValue());
+    }
+    return corrected;
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.domain.blogpoststats;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "blog_post_category_count")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CategoryPostCount implements PostCountRow<String> {
+
+  @Id
+  @Column(name = "category", updatable = false, nullable = false)
+  private String category;
+
+  @Column(name = "post_count", nullable = false)
+  private long postCount;
+
+  @Override
+  public String key() {
+    return category;
+  }
+
+}
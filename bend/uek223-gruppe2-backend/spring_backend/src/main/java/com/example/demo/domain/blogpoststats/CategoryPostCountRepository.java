@@ -0,0 +1,33 @@
+package com.example.demo.domain.blogpoststats;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryPostCountRepository extends JpaRepository<CategoryPostCount, String> {
+
+  List<CategoryPostCount> findByPostCountGreaterThanOrderByPostCountDescCategoryAsc(long postCount);
+
+  @Modifying
+  @Query("update CategoryPostCount c set c.postCount = c.postCount + :delta where c.category = :category")
+  int increment(@Param("category") String category, @Param("delta") long delta);
+
+  @Modifying
+  @Query(value = "INSERT INTO blog_post_category_count (category, post_count) VALUES (:category, :postCount) "
+      + "ON CONFLICT DO NOTHING", nativeQuery = true)
+  int insertIfAbsent(@Param("category") String category, @Param("postCount") long postCount);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+  @Query("select c from CategoryPostCount c")
+  List<CategoryPostCount> findAllForUpdate();
+}
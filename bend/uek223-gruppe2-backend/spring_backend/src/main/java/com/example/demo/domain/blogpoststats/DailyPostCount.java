@@ -0,0 +1,34 @@
+package com.example.demo.domain.blogpoststats;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Posts created per day, by the creation date in the server's time zone
+@Entity
+@Table(name = "blog_post_daily_count")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class DailyPostCount implements PostCountRow<LocalDate> {
+
+  @Id
+  @Column(name = "post_day", updatable = false, nullable = false)
+  private LocalDate postDay;
+
+  @Column(name = "post_count", nullable = false)
+  private long postCount;
+
+  @Override
+  public LocalDate key() {
+    return postDay;
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.example.demo.domain.blogpoststats;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailyPostCountRepository extends JpaRepository<DailyPostCount, LocalDate> {
+
+  List<DailyPostCount> findByPostDayBetweenOrderByPostDay(LocalDate from, LocalDate to);
+
+  @Modifying
+  @Query("update DailyPostCount d set d.postCount = d.postCount + :delta where d.postDay = :postDay")
+  int increment(@Param("postDay") LocalDate postDay, @Param("delta") long delta);
+
+  @Modifying
+  @Query(value = "INSERT INTO blog_post_daily_count (post_day, post_count) VALUES (:postDay, :postCount) "
+      + "ON CONFLICT DO NOTHING", nativeQuery = true)
+  int insertIfAbsent(@Param("postDay") LocalDate postDay, @Param("postCount") long postCount);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+  @Query("select d from DailyPostCount d")
+  List<DailyPostCount> findAllForUpdate();
+}
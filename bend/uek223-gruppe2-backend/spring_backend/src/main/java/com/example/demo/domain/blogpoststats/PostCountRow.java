@@ -0,0 +1,13 @@
+package com.example.demo.domain.blogpoststats;
+
+/**
+ * Aggregate row holding the number of posts for one key, e.g. a category.
+ */
+interface PostCountRow<K> {
+
+  K key();
+
+  long getPostCount();
+
+  void setPostCount(long postCount);
+}
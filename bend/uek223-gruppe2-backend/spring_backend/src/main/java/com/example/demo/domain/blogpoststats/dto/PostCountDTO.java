@@ -0,0 +1,20 @@
+package com.example.demo.domain.blogpoststats.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Number of posts for one facet value: a category, an author ID or an ISO day.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCountDTO {
+
+  private String key;
+  private long count;
+
+}
@@ -1,18 +1,56 @@
 package com.example.demo.domain.role;
 
 import com.example.demo.core.generic.AbstractServiceImpl;
+import com.example.demo.domain.user.PrincipalCache;
+import com.example.demo.domain.user.UserRepository;
+import java.util.NoSuchElementException;
+import java.util.UUID;
 import lombok.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Getter@Setter
 @Service
 public class RoleServiceImpl extends AbstractServiceImpl<Role> implements RoleService {
     private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Autowired
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, UserRepository userRepository,
+                           PrincipalCache principalCache) {
         super(roleRepository);
         this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    // Role membership is not tracked per user, so any role change drops every cached principal
+    @Override
+    @Transactional
+    public Role save(Role role) {
+        Role saved = super.save(role);
+        // Saving with the id of an existing role replaces its authorities for every holder
+        userRepository.incrementPermissionVersionByRoleId(saved.getId());
+        principalCache.evictAll();
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Role updateById(UUID id, Role role) throws NoSuchElementException {
+        Role updated = super.updateById(id, role);
+        userRepository.incrementPermissionVersionByRoleId(id);
+        principalCache.evictAll();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(UUID id) throws NoSuchElementException {
+        userRepository.incrementPermissionVersionByRoleId(id);
+        super.deleteById(id);
+        principalCache.evictAll();
     }
 }
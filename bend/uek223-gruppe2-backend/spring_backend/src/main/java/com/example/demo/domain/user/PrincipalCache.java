@@ -0,0 +1,95 @@
+package com.example.demo.domain.user;
+
+import com.example.demo.core.security.helpers.PrincipalCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds immutable principal snapshots keyed by user id so that authenticated requests do not reload
+ * the user with its roles and authorities. Writes that touch a user or a role evict the affected
+ * entries both immediately and again after the surrounding transaction commits, so a concurrent
+ * request cannot repopulate the cache with the state from before the commit.
+ * <p>
+ * Permission versions are kept in a separate short-lived cache. They are all that stateless token
+ * validation needs, and the short TTL bounds how long another node can miss a permission change.
+ */
+@Component
+public class PrincipalCache {
+
+  private final Cache<UUID, UserDetailsImpl> principals;
+  private final Cache<UUID, Long> permissionVersions;
+
+  @Autowired
+  public PrincipalCache(PrincipalCacheProperties properties) {
+    this.principals = Caffeine.newBuilder()
+                              .maximumSize(properties.getMaxSize())
+                              .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                              .recordStats()
+                              .build();
+    this.permissionVersions = Caffeine.newBuilder()
+                                      .maximumSize(properties.getMaxSize())
+                                      .expireAfterWrite(Duration.ofSeconds(properties.getVersionTtlSeconds()))
+                                      .recordStats()
+                                      .build();
+  }
+
+  // A loader returning null (unknown user) is not cached
+  public UserDetailsImpl get(UUID userId, Function<UUID, UserDetailsImpl> loader) {
+    return principals.get(userId, loader);
+  }
+
+  // A loader returning null (unknown user) is not cached
+  public Long getPermissionVersion(UUID userId, Function<UUID, Long> loader) {
+    return permissionVersions.get(userId, loader);
+  }
+
+  public void evict(UUID userId) {
+    if (userId == null) {
+      return;
+    }
+    invalidate(userId);
+    afterCommit(() -> invalidate(userId));
+  }
+
+  public void evictAll() {
+    invalidateAll();
+    afterCommit(this::invalidateAll);
+  }
+
+  public CacheStats getCacheStats() {
+    return principals.stats();
+  }
+
+  public CacheStats getVersionCacheStats() {
+    return permissionVersions.stats();
+  }
+
+  private void invalidate(UUID userId) {
+    principals.invalidate(userId);
+    permissionVersions.invalidate(userId);
+  }
+
+  private void invalidateAll() {
+    principals.invalidateAll();
+    permissionVersions.invalidateAll();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    }
+  }
+}
@@ -42,6 +42,10 @@ public class User extends AbstractEntity {
              inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
   private Set<Role> roles = new HashSet<>();
 
+  // Incremented whenever the roles of the user or the authorities of one of its roles change
+  @Column(name = "permission_version", nullable = false, columnDefinition = "bigint not null default 0")
+  private long permissionVersion;
+
   public User(UUID id, String firstName, String lastName, String email, String password, Set<Role> roles) {
     super(id);
     this.firstName = firstName;
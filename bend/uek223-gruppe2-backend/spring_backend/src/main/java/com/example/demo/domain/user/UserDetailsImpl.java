@@ -1,23 +1,89 @@
 package com.example.demo.domain.user;
 
+import com.example.demo.core.security.permissions.Permission;
+import com.example.demo.core.security.permissions.PermissionSet;
+import com.example.demo.domain.authority.Authority;
+import com.example.demo.domain.role.Role;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-public record UserDetailsImpl(User user) implements UserDetails {
+/**
+ * Principal of an authenticated request. Authorities, the compiled {@link PermissionSet} and the
+ * role names are computed once when the principal is created instead of on every access.
+ */
+public record UserDetailsImpl(User user, List<GrantedAuthority> authorities, PermissionSet permissions,
+                              Set<String> roleNames) implements UserDetails {
 
-  @Override
-  public Collection<? extends GrantedAuthority> getAuthorities() {
-    List<SimpleGrantedAuthority> authorities = new ArrayList<>(user.getRoles()
+  public UserDetailsImpl(User user) {
+    this(user, compileAuthorities(user), PermissionSet.of(user.getRoles()), compileRoleNames(user));
+  }
+
+  /**
+   * Creates a principal backed by a detached copy of the given user whose role and authority sets
+   * are unmodifiable, so it can be shared between requests through the {@link PrincipalCache}.
+   */
+  public static UserDetailsImpl snapshotOf(User user) {
+    Set<Role> roles = user.getRoles()
+                          .stream()
+                          .map(r -> new Role(r.getId(), r.getName(), r.getAuthorities()
+                              .stream()
+                              .map(a -> new Authority(a.getId(), a.getName()))
+                              .collect(Collectors.toUnmodifiableSet())))
+                          .collect(Collectors.toUnmodifiableSet());
+    User copy = new User(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.getPassword(),
+        roles);
+    copy.setPermissionVersion(user.getPermissionVersion());
+    return new UserDetailsImpl(copy);
+  }
+
+  /**
+   * Rebuilds a principal from compact token claims without touching the database. The backing user
+   * only carries its id and permission version, and only catalog authorities are granted.
+   */
+  public static UserDetailsImpl fromClaims(UUID userId, PermissionSet permissions, Set<String> roleNames,
+                                           long permissionVersion) {
+    User user = new User();
+    user.setId(userId);
+    user.setPermissionVersion(permissionVersion);
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    permissions.toList().forEach(p -> authorities.add(new SimpleGrantedAuthority(p.name())));
+    roleNames.forEach(r -> authorities.add(new SimpleGrantedAuthority("ROLE_" + r)));
+    return new UserDetailsImpl(user, List.copyOf(authorities), permissions, Set.copyOf(roleNames));
+  }
+
+  private static List<GrantedAuthority> compileAuthorities(User user) {
+    List<GrantedAuthority> authorities = new ArrayList<>(user.getRoles()
         .stream()
         .flatMap(r -> r.getAuthorities()
             .stream())
         .map(a -> new SimpleGrantedAuthority(a.getName()))
+        .distinct()
         .toList());
     authorities.addAll(user.getRoles().stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName())).toList());
+    return List.copyOf(authorities);
+  }
+
+  private static Set<String> compileRoleNames(User user) {
+    return user.getRoles().stream().map(Role::getName).collect(Collectors.toUnmodifiableSet());
+  }
+
+  public boolean has(Permission permission) {
+    return permissions.has(permission);
+  }
+
+  public boolean hasRole(String roleName) {
+    return roleNames.contains(roleName);
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
     return authorities;
   }
 
@@ -2,13 +2,29 @@ package com.example.demo.domain.user;
 
 import com.example.demo.core.generic.AbstractRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
-
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends AbstractRepository<User> {
   Optional<User> findByEmail(String email);
 
+  @Query("select u.permissionVersion from User u where u.id = :id")
+  Optional<Long> findPermissionVersionById(@Param("id") UUID id);
+
+  @Query("select u.id from User u where u.id in :ids")
+  List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Modifying
+  @Query("update User u set u.permissionVersion = u.permissionVersion + 1 "
+      + "where u.id in (select m.id from User m join m.roles r where r.id = :roleId)")
+  int incrementPermissionVersionByRoleId(@Param("roleId") UUID roleId);
+
 }
@@ -1,10 +1,30 @@
 package com.example.demo.domain.user;
 
 import com.example.demo.core.generic.AbstractService;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
-public interface UserService extends UserDetailsService, AbstractService<User> {
+public interface UserService extends UserDetailsService, UserDetailsPasswordService, AbstractService<User> {
   User register(User user);
 
   User registerUser(User user);
+
+  /**
+   * Returns the principal for an authenticated request, served from the {@link PrincipalCache}
+   * and only loaded from the database on a miss.
+   *
+   * @param id User ID taken from the verified token
+   * @return Immutable principal snapshot, or empty if the user no longer exists
+   */
+  Optional<UserDetailsImpl> findPrincipalById(UUID id);
+
+  /**
+   * Returns the current permission version of a user, served from the {@link PrincipalCache}.
+   *
+   * @param id User ID taken from the verified token
+   * @return Permission version, or empty if the user no longer exists
+   */
+  Optional<Long> findPermissionVersion(UUID id);
 }
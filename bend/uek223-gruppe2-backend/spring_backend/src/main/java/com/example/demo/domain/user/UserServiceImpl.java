@@ -8,7 +8,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -17,12 +20,15 @@ public class UserServiceImpl extends AbstractServiceImpl<User> implements UserSe
 
   private final PasswordEncoder passwordEncoder;
   private final RoleService roleService;
+  private final PrincipalCache principalCache;
 
   @Autowired
-  public UserServiceImpl(UserRepository repository, PasswordEncoder passwordEncoder, RoleService roleService) {
+  public UserServiceImpl(UserRepository repository, PasswordEncoder passwordEncoder, RoleService roleService,
+                         PrincipalCache principalCache) {
     super(repository);
     this.passwordEncoder = passwordEncoder;
       this.roleService = roleService;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -32,6 +38,17 @@ public class UserServiceImpl extends AbstractServiceImpl<User> implements UserSe
                                         .orElseThrow(() -> new UsernameNotFoundException(email));
   }
 
+  // Called by DaoAuthenticationProvider after a successful login whose stored hash uses an outdated
+  // encoding or cost, so the hash is upgraded without a separate migration
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    User user = ((UserRepository) repository).findByEmail(userDetails.getUsername())
+                                             .orElseThrow(() -> new UsernameNotFoundException(userDetails.getUsername()));
+    user.setPassword(newPassword);
+    return new UserDetailsImpl(save(user));
+  }
+
   @Override
   public User register(User user) {
     user.setPassword(passwordEncoder.encode(user.getPassword()));
@@ -46,4 +63,43 @@ public class UserServiceImpl extends AbstractServiceImpl<User> implements UserSe
     return save(user);
   }
 
+  @Override
+  @Transactional
+  public User save(User user) {
+    User saved = super.save(user);
+    principalCache.evict(saved.getId());
+    return saved;
+  }
+
+  @Override
+  @Transactional
+  public User updateById(UUID id, User user) throws NoSuchElementException {
+    // The update may change the roles, so tokens issued before it must not be trusted statelessly
+    ((UserRepository) repository).findPermissionVersionById(id)
+                                 .ifPresent(version -> user.setPermissionVersion(version + 1));
+    User updated = super.updateById(id, user);
+    principalCache.evict(id);
+    return updated;
+  }
+
+  @Override
+  @Transactional
+  public void deleteById(UUID id) throws NoSuchElementException {
+    super.deleteById(id);
+    principalCache.evict(id);
+  }
+
+  @Override
+  public Optional<UserDetailsImpl> findPrincipalById(UUID id) {
+    return Optional.ofNullable(principalCache.get(id, userId -> repository.findById(userId)
+                                                                         .map(UserDetailsImpl::snapshotOf)
+                                                                         .orElse(null)));
+  }
+
+  @Override
+  public Optional<Long> findPermissionVersion(UUID id) {
+    return Optional.ofNullable(principalCache.getPermissionVersion(id,
+        userId -> ((UserRepository) repository).findPermissionVersionById(userId).orElse(null)));
+  }
+
 }
@@ -0,0 +1,104 @@
+--USERS, ROLES AND AUTHORITIES
+
+create table users (
+    id uuid not null,
+    email varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    permission_version bigint not null default 0,
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table role (
+    id uuid not null,
+    name varchar(255) not null,
+    constraint pk_role primary key (id),
+    constraint uk_role_name unique (name)
+);
+
+create table authority (
+    id uuid not null,
+    name varchar(255) not null,
+    constraint pk_authority primary key (id),
+    constraint uk_authority_name unique (name)
+);
+
+create table users_role (
+    users_id uuid not null,
+    role_id uuid not null,
+    constraint pk_users_role primary key (role_id, users_id),
+    constraint fk_users_role_users foreign key (users_id) references users,
+    constraint fk_users_role_role foreign key (role_id) references role
+);
+
+create table role_authority (
+    role_id uuid not null,
+    authority_id uuid not null,
+    constraint pk_role_authority primary key (authority_id, role_id),
+    constraint fk_role_authority_role foreign key (role_id) references role,
+    constraint fk_role_authority_authority foreign key (authority_id) references authority
+);
+
+--REVOKED TOKENS
+
+create table revoked_token (
+    jti uuid not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    constraint pk_revoked_token primary key (jti)
+);
+
+create index idx_revoked_token_revoked_at on revoked_token (revoked_at);
+create index idx_revoked_token_expires_at on revoked_token (expires_at);
+
+--BLOG POSTS
+
+create table blog_post (
+    id uuid not null,
+    title varchar(100) not null,
+    text text not null,
+    category varchar(100) not null,
+    author_id uuid not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_blog_post primary key (id),
+    constraint fk_blog_post_author foreign key (author_id) references users
+);
+
+-- Keyset pagination seeks on (sort key, id), optionally behind an equality filter
+create index idx_blog_post_created_at_id on blog_post (created_at, id);
+create index idx_blog_post_title_id on blog_post (title, id);
+create index idx_blog_post_category_id on blog_post (category, id);
+create index idx_blog_post_category_created_at_id on blog_post (category, created_at, id);
+create index idx_blog_post_author_created_at_id on blog_post (author_id, created_at, id);
+
+-- Generated column, so PostgreSQL keeps it current on every insert and update of title or text.
+-- Title matches are weighted above text matches by ts_rank.
+alter table blog_post add column search_vector tsvector
+    generated always as (setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(text, '')), 'B')) stored;
+create index idx_blog_post_search_vector on blog_post using gin (search_vector);
+
+--BLOG POST AGGREGATES
+
+create table blog_post_category_count (
+    category varchar(255) not null,
+    post_count bigint not null,
+    constraint pk_blog_post_category_count primary key (category)
+);
+
+create table blog_post_author_count (
+    author_id uuid not null,
+    post_count bigint not null,
+    constraint pk_blog_post_author_count primary key (author_id)
+);
+
+create index idx_blog_post_author_count_post_count on blog_post_author_count (post_count);
+
+create table blog_post_daily_count (
+    post_day date not null,
+    post_count bigint not null,
+    constraint pk_blog_post_daily_count primary key (post_day)
+);
@@ -0,0 +1,14 @@
+-- One index per filter and sort combination of BlogPostRepository, so that every list query reads
+-- its page in index order instead of sorting the filtered rows. Each index ends in id, which is the
+-- tie breaker of the keyset queries. Equality filters come first, then the sort key:
+--   no filter:         (created_at, id), (title, id), (category, id) from V1
+--   category:          (category, created_at, id) and (category, id) from V1, (category, title, id)
+--   author:            (author_id, created_at, id) from V1, (author_id, title, id), (author_id, category, id)
+--   category + author: (category, author_id, created_at, id), (category, author_id, title, id),
+--                      sorting by category uses (author_id, category, id)
+
+create index idx_blog_post_category_title_id on blog_post (category, title, id);
+create index idx_blog_post_author_title_id on blog_post (author_id, title, id);
+create index idx_blog_post_author_category_id on blog_post (author_id, category, id);
+create index idx_blog_post_category_author_created_at_id on blog_post (category, author_id, created_at, id);
+create index idx_blog_post_category_author_title_id on blog_post (category, author_id, title, id);
@@ -0,0 +1,2 @@
+-- Optimistic locking of blog post writes, every conditional update increments it
+alter table blog_post add column version bigint not null default 0;
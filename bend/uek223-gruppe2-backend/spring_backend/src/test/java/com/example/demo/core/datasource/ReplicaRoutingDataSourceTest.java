@@ -0,0 +1,124 @@
+package com.example.demo.core.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.core.security.permissions.PermissionSet;
+import com.example.demo.domain.user.UserDetailsImpl;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Two H2 databases stand in for a primary and its replica, each of them knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+  private ReplicaRoutingDataSource routing;
+  private JdbcTemplate replicaAdmin;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate writeTransaction;
+  private TransactionTemplate readTransaction;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource primary = database("primary");
+    DriverManagerDataSource replica = database("replica");
+    replicaAdmin = new JdbcTemplate(replica);
+    replicaAdmin.execute("create table replica_lag (millis bigint)");
+    replicaAdmin.update("insert into replica_lag values (0)");
+
+    routing = new ReplicaRoutingDataSource(primary, List.of(replica), "select millis from replica_lag", 1_000, 60_000);
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    writeTransaction = new TransactionTemplate(transactionManager);
+    readTransaction = new TransactionTemplate(transactionManager);
+    readTransaction.setReadOnly(true);
+    routing.checkLag();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransactionsGoToTheReplicaWhileItKeepsUp() {
+    assertThat(serverOf(readTransaction)).isEqualTo("replica");
+    assertThat(serverOf(writeTransaction)).isEqualTo("primary");
+    assertThat(jdbcTemplate.queryForObject("select name from server", String.class)).isEqualTo("primary");
+
+    replicaAdmin.update("update replica_lag set millis = 5000");
+    routing.checkLag();
+
+    assertThat(routing.getLagMillis()).containsEntry("replica-1", 5_000L);
+    assertThat(serverOf(readTransaction)).isEqualTo("primary");
+  }
+
+  @Test
+  void writerReadsFromThePrimaryAfterTheirWrite() {
+    signIn("author@example.com");
+    assertThat(serverOf(readTransaction)).isEqualTo("replica");
+    serverOf(writeTransaction);
+    assertThat(serverOf(readTransaction)).isEqualTo("primary");
+
+    signIn("reader@example.com");
+    assertThat(serverOf(readTransaction)).isEqualTo("replica");
+  }
+
+  @Test
+  void statelessWriterReadsFromThePrimaryAfterTheirWrite() {
+    UUID authorId = UUID.randomUUID();
+    signIn(UserDetailsImpl.fromClaims(authorId, PermissionSet.EMPTY, Set.of("USER"), 0));
+    serverOf(writeTransaction);
+    assertThat(serverOf(readTransaction)).isEqualTo("primary");
+
+    signIn(UserDetailsImpl.fromClaims(UUID.randomUUID(), PermissionSet.EMPTY, Set.of("USER"), 0));
+    assertThat(serverOf(readTransaction)).isEqualTo("replica");
+    signIn(UserDetailsImpl.fromClaims(authorId, PermissionSet.EMPTY, Set.of("USER"), 0));
+    assertThat(serverOf(readTransaction)).isEqualTo("primary");
+  }
+
+  @Test
+  void sharedReadsGoToThePrimaryAfterAnyWrite() {
+    assertThat(ReplicaRoutingDataSource.afterAnyWrite(() -> serverOf(readTransaction))).isEqualTo("replica");
+
+    // Anonymous, like a scheduled job or an import
+    serverOf(writeTransaction);
+
+    assertThat(ReplicaRoutingDataSource.afterAnyWrite(() -> serverOf(readTransaction))).isEqualTo("primary");
+    assertThat(serverOf(readTransaction)).isEqualTo("replica");
+    signIn("reader@example.com");
+    assertThat(ReplicaRoutingDataSource.afterAnyWrite(() -> serverOf(readTransaction))).isEqualTo("primary");
+    assertThat(serverOf(readTransaction)).isEqualTo("replica");
+  }
+
+  private String serverOf(TransactionTemplate transaction) {
+    return transaction.execute(status -> jdbcTemplate.queryForObject("select name from server", String.class));
+  }
+
+  private static void signIn(Object principal) {
+    SecurityContextHolder.getContext().setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of()));
+  }
+
+  private static DriverManagerDataSource database(String name) {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate admin = new JdbcTemplate(dataSource);
+    admin.execute("drop all objects");
+    admin.execute("create table server (name varchar(16))");
+    admin.update("insert into server values (?)", name);
+    return dataSource;
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.core.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void onlyAdminsScrapeMetrics() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus")).andExpect(status().is4xxClientError());
+    mockMvc.perform(get("/actuator/prometheus").with(user("user").roles("USER"))).andExpect(status().isForbidden());
+    mockMvc.perform(get("/blogpost")).andExpect(status().isOk());
+
+    String scrape = mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN")))
+                           .andExpect(status().isOk())
+                           .andReturn().getResponse().getContentAsString();
+
+    assertThat(scrape).contains("http_server_requests_seconds_bucket{", "spring_data_repository_invocations_seconds",
+        "security_filter_seconds_count{filter=\"authorization\"", "hikaricp_connections_acquire_seconds_bucket{");
+  }
+}
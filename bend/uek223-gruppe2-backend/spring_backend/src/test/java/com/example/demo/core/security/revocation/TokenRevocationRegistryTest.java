@@ -0,0 +1,109 @@
+package com.example.demo.core.security.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.core.security.helpers.RevocationProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Two registries share the repository of the H2 test database, standing in for two backend nodes
+ * on the same database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationRegistryTest {
+
+  @Autowired
+  private RevokedTokenRepository repository;
+  private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+  private TokenRevocationRegistry nodeA;
+  private TokenRevocationRegistry nodeB;
+
+  @BeforeEach
+  void setUp() {
+    RevocationProperties properties = new RevocationProperties(1_000, 0.01, 5_000, 60_000, 3_600_000);
+    nodeA = new TokenRevocationRegistry(repository, properties, clock);
+    nodeB = new TokenRevocationRegistry(repository, properties, clock);
+  }
+
+  @Test
+  void revocationOnOneNodeReachesTheOtherAfterRefresh() {
+    UUID tokenId = UUID.randomUUID();
+
+    nodeA.revoke(tokenId, clock.instant().plusSeconds(600));
+
+    assertThat(nodeA.isRevoked(tokenId)).isTrue();
+    assertThat(nodeB.isRevoked(tokenId)).isFalse();
+    nodeB.refresh();
+    assertThat(nodeB.isRevoked(tokenId)).isTrue();
+    assertThat(nodeB.isRevoked(UUID.randomUUID())).isFalse();
+  }
+
+  @Test
+  void lateCommitInsideTheOverlapWindowIsPickedUp() {
+    UUID first = UUID.randomUUID();
+    nodeA.revoke(first, clock.instant().plusSeconds(600));
+    nodeB.refresh();
+
+    // Committed by another node with a revoked_at before nodeB's watermark
+    UUID late = UUID.randomUUID();
+    repository.save(new RevokedToken(late, clock.instant().plusSeconds(600), clock.instant().minusSeconds(10)));
+    nodeB.refresh();
+
+    assertThat(nodeB.isRevoked(late)).isTrue();
+  }
+
+  @Test
+  void purgeDropsExpiredEntries() {
+    UUID expiring = UUID.randomUUID();
+    UUID active = UUID.randomUUID();
+    nodeA.revoke(expiring, clock.instant().plusSeconds(60));
+    nodeA.revoke(active, clock.instant().plusSeconds(600));
+
+    clock.advance(Duration.ofSeconds(120));
+    nodeA.purge();
+
+    assertThat(nodeA.isRevoked(expiring)).isFalse();
+    assertThat(nodeA.isRevoked(active)).isTrue();
+    assertThat(repository.existsById(expiring)).isFalse();
+    assertThat(repository.existsById(active)).isTrue();
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
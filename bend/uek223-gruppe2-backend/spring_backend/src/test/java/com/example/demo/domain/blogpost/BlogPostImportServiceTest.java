@@ -0,0 +1,79 @@
+package com.example.demo.domain.blogpost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.domain.blogpost.dto.BlogPostImportResultDTO;
+import com.example.demo.domain.blogpoststats.BlogPostStatsService;
+import com.example.demo.domain.blogpoststats.dto.PostCountDTO;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "blogpost.import.batchSize=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BlogPostImportServiceTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private BlogPostImportService importService;
+  @Autowired
+  private BlogPostRepository blogPostRepository;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private BlogPostStatsService statsService;
+
+  @Test
+  void importsValidLinesAndReportsTheOthers() throws Exception {
+    User importer = userRepository.save(new User(null, "Ada", "Importer", "importer@example.com", "secret", Set.of()));
+    String ndjson = String.join("\n",
+        "{\"title\":\"Imported one\",\"text\":\"Imported text that is long enough\",\"category\":\"Imported\"}",
+        "{\"title\":\"Imported two\",\"text\":\"Imported text that is long enough\",\"category\":\"Imported\","
+            + "\"createdAt\":\"2020-05-01T10:00:00\"}",
+        "{\"title\":",
+        "",
+        "{\"title\":\"Bad\",\"text\":\"Imported text that is long enough\",\"category\":\"Imported\"}",
+        "{\"title\":\"Unknown author\",\"text\":\"Imported text that is long enough\",\"category\":\"Imported\","
+            + "\"authorId\":\"" + UUID.randomUUID() + "\"}\r",
+        "{\"title\":\"Imported three\",\"text\":\"Imported text that is long enough\",\"category\":\"Imported\"}");
+
+    BlogPostImportResultDTO result = importService.importNdjson(
+        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), importer.getId());
+
+    assertThat(result.getImported()).isEqualTo(3);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getErrors()).extracting(BlogPostImportResultDTO.LineError::getLine).containsExactly(3L, 5L, 6L);
+    assertThat(blogPostRepository.countByCategory("Imported")).isEqualTo(3);
+    assertThat(statsService.findCategoryCounts()).extracting(PostCountDTO::getKey, PostCountDTO::getCount)
+                                                 .contains(tuple("Imported", 3L));
+  }
+
+  @Test
+  void usersMayNotImport() throws Exception {
+    // Lines may set any author and creation time, so USER's BLOGPOST_MODIFY is not enough
+    String ndjson = "{\"title\":\"Foreign post\",\"text\":\"Imported text that is long enough\","
+        + "\"category\":\"Attributed\",\"authorId\":\"" + UUID.randomUUID() + "\"}";
+
+    mockMvc.perform(post("/blogpost/admin/import").contentType("application/x-ndjson").content(ndjson)
+                        .with(user("user").authorities(new SimpleGrantedAuthority("BLOGPOST_MODIFY"),
+                            new SimpleGrantedAuthority("ROLE_USER"))))
+           .andExpect(status().isForbidden());
+    assertThat(blogPostRepository.countByCategory("Attributed")).isZero();
+  }
+}
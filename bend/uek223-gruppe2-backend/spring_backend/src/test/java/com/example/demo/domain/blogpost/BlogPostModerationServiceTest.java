@@ -0,0 +1,112 @@
+package com.example.demo.domain.blogpost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.domain.blogpost.dto.BlogPostBulkResultDTO;
+import com.example.demo.domain.blogpoststats.AuthorPostCount;
+import com.example.demo.domain.blogpoststats.AuthorPostCountRepository;
+import com.example.demo.domain.blogpoststats.CategoryPostCount;
+import com.example.demo.domain.blogpoststats.CategoryPostCountRepository;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest(properties = "blogpost.moderation.chunkSize=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BlogPostModerationServiceTest {
+
+  // Holds BLOGPOST_MODIFY like a seeded USER, which must not reach posts of other authors in bulk
+  private static final RequestPostProcessor USER = user("user").authorities(
+      new SimpleGrantedAuthority("BLOGPOST_MODIFY"), new SimpleGrantedAuthority("ROLE_USER"));
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private BlogPostModerationService moderationService;
+  @Autowired
+  private BlogPostService blogPostService;
+  @Autowired
+  private BlogPostRepository blogPostRepository;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private CategoryPostCountRepository categoryRepository;
+  @Autowired
+  private AuthorPostCountRepository authorRepository;
+
+  @Test
+  void bulkOperationsRunInChunksAndKeepAggregatesCurrent() {
+    User spammer = userRepository.save(new User(null, "Sam", "Spammer", "spammer@example.com", "secret", Set.of()));
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ids.add(blogPostService.createBlogPost(
+          new BlogPost(null, "Spam post " + i, "Buy cheap things right now " + i, "Spam", null, null, null),
+          spammer).getId());
+    }
+
+    BlogPostBulkResultDTO moved = moderationService.recategorize(
+        new BlogPostBulkFilter(null, spammer.getId(), null, null), "Quarantine");
+
+    assertThat(moved.getAffected()).isEqualTo(5);
+    assertThat(moved.getChunks()).isEqualTo(3);
+    assertThat(blogPostRepository.countByCategory("Quarantine")).isEqualTo(5);
+    assertThat(categoryCount("Quarantine")).isEqualTo(5);
+    assertThat(categoryCount("Spam")).isZero();
+    assertThat(authorCount(spammer.getId())).isEqualTo(5);
+
+    BlogPostBulkResultDTO deletedByIds = moderationService.delete(
+        new BlogPostBulkFilter(ids.subList(0, 2), null, null, null));
+    BlogPostBulkResultDTO deletedByFilter = moderationService.delete(
+        new BlogPostBulkFilter(null, spammer.getId(), "Quarantine", LocalDateTime.now().plusMinutes(1)));
+
+    assertThat(deletedByIds.getAffected()).isEqualTo(2);
+    assertThat(deletedByFilter.getAffected()).isEqualTo(3);
+    assertThat(blogPostRepository.countByAuthorId(spammer.getId())).isZero();
+    assertThat(categoryCount("Spam")).isZero();
+    assertThat(categoryCount("Quarantine")).isZero();
+    assertThat(authorCount(spammer.getId())).isZero();
+  }
+
+  @Test
+  void bulkEndpointsAreForAdminsOnly() throws Exception {
+    mockMvc.perform(post("/blogpost/admin/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"category\":\"Spam\"}").with(USER))
+           .andExpect(status().isForbidden());
+    mockMvc.perform(post("/blogpost/admin/bulk-recategorize").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"category\":\"Spam\",\"newCategory\":\"Quarantine\"}").with(USER))
+           .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void emptyFilterIsRejected() {
+    assertThatThrownBy(() -> moderationService.delete(new BlogPostBulkFilter(List.of(), null, " ", null)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  // A missing row counts as zero
+  private long categoryCount(String category) {
+    return categoryRepository.findById(category).map(CategoryPostCount::getPostCount).orElse(0L);
+  }
+
+  private long authorCount(UUID authorId) {
+    return authorRepository.findById(authorId).map(AuthorPostCount::getPostCount).orElse(0L);
+  }
+}
@@ -0,0 +1,202 @@
+package com.example.demo.domain.blogpost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.domain.authority.Authority;
+import com.example.demo.domain.blogpost.dto.BlogPostUpdateDTO;
+import com.example.demo.domain.role.Role;
+import com.example.demo.domain.role.RoleRepository;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts the SQL statements of the read endpoints, so that loading authors (and their roles) per
+ * post cannot creep back in.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BlogPostQueryCountTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private RoleRepository roleRepository;
+  @Autowired
+  private BlogPostRepository blogPostRepository;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private BlogPostPageCache blogPostPageCache;
+  @Autowired
+  private BlogPostService blogPostService;
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    // The context, and with it the database, is shared with other test classes
+    if (blogPostRepository.countByCategory("Tech") > 0) {
+      return;
+    }
+    Role role = transactionTemplate.execute(status -> {
+      Authority read = new Authority(null, "BLOGPOST_READ");
+      Authority create = new Authority(null, "BLOGPOST_CREATE");
+      entityManager.persist(read);
+      entityManager.persist(create);
+      return roleRepository.save(new Role(null, "USER", Set.of(read, create)));
+    });
+    // Every post has its own author, the worst case for per-row loading
+    for (int i = 0; i < 5; i++) {
+      User author = userRepository.save(
+          new User(null, "First" + i, "Last" + i, "author" + i + "@example.com", "secret", Set.of(role)));
+      blogPostRepository.save(
+          new BlogPost(null, "Post title " + i, "Post text that is long enough " + i, "Tech", author, null, null));
+    }
+  }
+
+  @Test
+  void listPageUsesPageQueryAndCountOnly() throws Exception {
+    blogPostPageCache.invalidateAll();
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost")).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void cachedListPageUsesNoQuery() throws Exception {
+    mockMvc.perform(get("/blogpost").param("category", "Tech")).andExpect(status().isOk());
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost").param("category", "Tech")).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void countFreeListPageUsesSingleQuery() throws Exception {
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost").param("totals", "none")).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void cursorPageUsesSingleQuery() throws Exception {
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost").param("cursor", "")).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void summaryPageUsesSingleProjectedQuery() throws Exception {
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost").param("view", "summary").param("totals", "none"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.content[0].excerpt").exists())
+           .andExpect(jsonPath("$.content[0].author.firstName").exists())
+           .andExpect(jsonPath("$.content[0].text").doesNotExist());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void detailUsesVersionLookupAndSingleQuery() throws Exception {
+    UUID postId = blogPostRepository.findAll().get(0).getId();
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost/" + postId)).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void revalidatedDetailOnlyReadsVersion() throws Exception {
+    UUID postId = blogPostRepository.findAll().get(0).getId();
+    String etag = mockMvc.perform(get("/blogpost/" + postId)).andReturn().getResponse().getHeader("ETag");
+    statistics.clear();
+
+    mockMvc.perform(get("/blogpost/" + postId).header("If-None-Match", etag))
+           .andExpect(status().isNotModified());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void revalidatedListPageIsNotModified() throws Exception {
+    String etag = mockMvc.perform(get("/blogpost").param("view", "summary"))
+                         .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/blogpost").param("view", "summary").header("If-None-Match", etag))
+           .andExpect(status().isNotModified());
+    mockMvc.perform(get("/blogpost").param("fields", "title").header("If-None-Match", etag))
+           .andExpect(status().isOk());
+  }
+
+  @Test
+  void ownerUpdateIsOneConditionalStatement() {
+    BlogPost post = blogPostRepository.findAll().get(0);
+    UUID authorId = post.getAuthor().getId();
+    BlogPostUpdateDTO update = new BlogPostUpdateDTO(post.getTitle(), post.getText(), post.getCategory())
+        .setVersion(post.getVersion());
+    statistics.clear();
+
+    BlogPost updated = blogPostService.updateBlogPost(post.getId(), update, authorId);
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(writeStatements());
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(updated.getVersion()).isEqualTo(post.getVersion() + 1);
+    assertThat(updated.getAuthor().getFirstName()).isNotNull();
+    assertThatThrownBy(() -> blogPostService.updateBlogPost(post.getId(), update, authorId))
+        .isInstanceOf(OptimisticLockingFailureException.class);
+    assertThatThrownBy(() -> blogPostService.updateBlogPost(post.getId(), update.setVersion(updated.getVersion()),
+        UUID.randomUUID())).isInstanceOf(AccessDeniedException.class);
+    assertThatThrownBy(() -> blogPostService.updateBlogPost(UUID.randomUUID(), update, authorId))
+        .isInstanceOf(EntityNotFoundException.class);
+  }
+
+  // A single statement with RETURNING, H2 reads and locks the pre-image with a statement of its own
+  private int writeStatements() {
+    return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                               .getDialect() instanceof PostgreSQLDialect ? 1 : 2;
+  }
+}
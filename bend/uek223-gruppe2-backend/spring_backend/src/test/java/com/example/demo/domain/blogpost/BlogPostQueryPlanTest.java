@@ -0,0 +1,304 @@
+package com.example.demo.domain.blogpost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.domain.blogpoststats.AuthorPostCountRepository;
+import com.example.demo.domain.blogpoststats.BlogPostStatsService;
+import com.example.demo.domain.blogpoststats.CategoryPostCountRepository;
+import com.example.demo.domain.blogpoststats.DailyPostCountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs EXPLAIN on the SQL of every blog post list query, for each filter, sort field and direction,
+ * and fails if a plan sorts rows it read from {@code blog_post} by sequential or bitmap scan, i.e. if
+ * a combination has no matching index. The filtered counts, the search pages, the conditional update
+ * and delete and the post counter statements must not read {@code blog_post} by sequential scan.
+ * Reconciling the post counters is left out, it scans every post by design.
+ *
+ * <p>Skipped unless {@code EXPLAIN_TEST_DB_URL} is set, since H2 plans say nothing about PostgreSQL.
+ * It needs an empty scratch PostgreSQL database, e.g.
+ * {@code EXPLAIN_TEST_DB_URL=jdbc:postgresql://localhost:5433/explain}, optionally with
+ * {@code EXPLAIN_TEST_DB_USER} and {@code EXPLAIN_TEST_DB_PASSWORD}. The migrations are applied
+ * and 50k posts are generated on the first run.
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_TEST_DB_URL", matches = ".+")
+@SpringBootTest(properties = {"spring.datasource.url=${EXPLAIN_TEST_DB_URL}",
+    "spring.datasource.username=${EXPLAIN_TEST_DB_USER:postgres}",
+    "spring.datasource.password=${EXPLAIN_TEST_DB_PASSWORD:postgres}",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=validate", "spring.jpa.defer-datasource-initialization=false",
+    "spring.flyway.enabled=true"})
+@ActiveProfiles("test")
+class BlogPostQueryPlanTest {
+
+  private static final int POSTS = 50_000;
+  private static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+  private static volatile boolean recording;
+
+  @Autowired
+  private BlogPostService blogPostService;
+  @Autowired
+  private BlogPostRepository blogPostRepository;
+  @Autowired
+  private BlogPostStatsService statsService;
+  @Autowired
+  private CategoryPostCountRepository categoryRepository;
+  @Autowired
+  private AuthorPostCountRepository authorRepository;
+  @Autowired
+  private DailyPostCountRepository dailyRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    STATEMENTS.clear();
+    if (jdbcTemplate.queryForObject("select count(*) from blog_post", Long.class) >= POSTS) {
+      return;
+    }
+    jdbcTemplate.update("insert into users (id, email, first_name, last_name, password) "
+        + "select gen_random_uuid(), 'author' || n || '@example.com', 'First', 'Last', 'x' "
+        + "from generate_series(1, 50) n");
+    jdbcTemplate.update("insert into blog_post (id, title, text, category, author_id, created_at, updated_at) "
+        + "select gen_random_uuid(), 'Post title ' || n, 'Generated post text number ' || n, "
+        + "'Category ' || (n % 20), a.ids[1 + n % array_length(a.ids, 1)], "
+        + "now() - n * interval '1 minute', now() - n * interval '1 minute' "
+        + "from generate_series(1, " + POSTS + ") n, (select array_agg(id) as ids from users) a");
+    jdbcTemplate.execute("analyze");
+  }
+
+  @Test
+  void listQueriesReadInIndexOrder() throws Exception {
+    String category = "Category 7";
+    UUID authorId = jdbcTemplate.queryForObject("select author_id from blog_post where category = ? limit 1",
+        UUID.class, category);
+
+    recording = true;
+    try {
+      for (String filterCategory : new String[] {null, category}) {
+        for (UUID filterAuthor : new UUID[] {null, authorId}) {
+          for (BlogPostSortField sortField : BlogPostSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+              PageRequest page = PageRequest.of(3, 5, Sort.by(direction, sortField.property()));
+              blogPostService.findAllWithFilters(page, filterCategory, filterAuthor);
+              blogPostService.findSliceWithFilters(page, filterCategory, filterAuthor);
+              blogPostService.findProjected(BlogPostField.SUMMARY, sortField, direction, filterCategory, filterAuthor,
+                  null, 3, 5);
+              Slice<BlogPost> first = blogPostService.findAllAfter(sortField, direction, filterCategory,
+                  filterAuthor, null, 5);
+              if (first.hasContent()) {
+                BlogPostCursor cursor = BlogPostCursor.after(first.getContent().get(first.getNumberOfElements() - 1),
+                    sortField, direction);
+                blogPostService.findAllAfter(sortField, direction, filterCategory, filterAuthor, cursor, 5);
+              }
+            }
+          }
+        }
+      }
+    }
+    finally {
+      recording = false;
+    }
+
+    List<String> sortedScans = new ArrayList<>();
+    ObjectMapper objectMapper = new ObjectMapper();
+    for (RecordedStatement statement : STATEMENTS) {
+      if (!statement.sql().toLowerCase().startsWith("select") || !statement.sql().contains("blog_post")) {
+        continue;
+      }
+      JsonNode plan = objectMapper.readTree(explain(statement)).get(0).get("Plan");
+      if (sortsScannedPosts(plan, false)) {
+        sortedScans.add(statement.sql() + "\n" + plan.toPrettyString());
+      }
+    }
+    assertThat(sortedScans).as("queries that sort scanned blog posts").isEmpty();
+  }
+
+  @Test
+  void countSearchAndWriteQueriesUseIndexes() throws Exception {
+    String category = "Category 7";
+    Map<String, Object> post = jdbcTemplate.queryForMap(
+        "select id, author_id, version from blog_post where category = ? limit 1", category);
+    UUID postId = (UUID) post.get("id");
+    UUID authorId = (UUID) post.get("author_id");
+    long version = ((Number) post.get("version")).longValue();
+    // Post numbers are unique words of the generated titles and texts
+    String query = "4242 or 4243 or 4244";
+    PageRequest page = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, BlogPostSortField.DATE.property()));
+
+    recording = true;
+    try {
+      blogPostService.findAllWithFilters(page, category, null);
+      blogPostService.findAllWithFilters(page, null, authorId);
+      blogPostService.findAllWithFilters(page, category, authorId);
+      BlogPostSearchResult first = blogPostService.search(query, null, 1);
+      assertThat(first.next()).as("cursor after the first search match").isNotNull();
+      blogPostService.search(query, first.next(), 1);
+      // Statements run on the real rows, rolled back so that the next run finds the same data
+      transactionTemplate.executeWithoutResult(status -> {
+        blogPostRepository.updateIfCurrent(postId, authorId, version, "Explained", "Explained post text",
+            category, LocalDateTime.now());
+        blogPostRepository.deleteIfCurrent(postId, authorId, version + 1);
+        categoryRepository.increment(category, 1);
+        authorRepository.increment(authorId, 1);
+        dailyRepository.increment(LocalDate.now(), 1);
+        status.setRollbackOnly();
+      });
+      statsService.findCategoryCounts();
+      statsService.findTopAuthors(10);
+      statsService.findDailyCounts(LocalDate.now().minusDays(30), LocalDate.now());
+    }
+    finally {
+      recording = false;
+    }
+
+    List<String> sequentialScans = new ArrayList<>();
+    ObjectMapper objectMapper = new ObjectMapper();
+    for (RecordedStatement statement : STATEMENTS) {
+      JsonNode plan = objectMapper.readTree(explain(statement)).get(0).get("Plan");
+      if (scansPostsSequentially(plan)) {
+        sequentialScans.add(statement.sql() + "\n" + plan.toPrettyString());
+      }
+    }
+    assertThat(sequentialScans).as("queries that read blog posts by sequential scan").isEmpty();
+  }
+
+  private String explain(RecordedStatement statement) {
+    return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+      try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+        for (Bind bind : statement.binds()) {
+          bind.method().invoke(explain, bind.args());
+        }
+        try (ResultSet resultSet = explain.executeQuery()) {
+          resultSet.next();
+          return resultSet.getString(1);
+        }
+      }
+      catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  private static boolean sortsScannedPosts(JsonNode node, boolean belowSort) {
+    String type = node.path("Node Type").asText();
+    if (belowSort && "blog_post".equals(node.path("Relation Name").asText())
+        && (type.equals("Seq Scan") || type.equals("Bitmap Heap Scan"))) {
+      return true;
+    }
+    boolean sorted = belowSort || type.equals("Sort");
+    for (JsonNode child : node.path("Plans")) {
+      if (sortsScannedPosts(child, sorted)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean scansPostsSequentially(JsonNode node) {
+    if ("blog_post".equals(node.path("Relation Name").asText()) && "Seq Scan".equals(node.path("Node Type").asText())) {
+      return true;
+    }
+    for (JsonNode child : node.path("Plans")) {
+      if (scansPostsSequentially(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private record Bind(Method method, Object[] args) {
+  }
+
+  private record RecordedStatement(String sql, List<Bind> binds) {
+  }
+
+  /**
+   * Wraps the data source so that prepared statements and their parameters are recorded while
+   * {@link #recording} is set.
+   */
+  @TestConfiguration
+  static class RecordingDataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor recordingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource ? wrap(dataSource, DataSource.class) : bean;
+        }
+      };
+    }
+
+    private static Object wrap(Object target, Class<?> type) {
+      return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+        Object result;
+        try {
+          result = method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+        if (result instanceof Connection connection && type == DataSource.class) {
+          return wrap(connection, Connection.class);
+        }
+        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+          RecordedStatement recorded = new RecordedStatement((String) args[0], new ArrayList<>());
+          if (recording) {
+            STATEMENTS.add(recorded);
+          }
+          return recordBinds(statement, recorded);
+        }
+        return result;
+      });
+    }
+
+    private static PreparedStatement recordBinds(PreparedStatement target, RecordedStatement recorded) {
+      return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+          new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+              recorded.binds().add(new Bind(method, args));
+            }
+            try {
+              return method.invoke(target, args);
+            }
+            catch (InvocationTargetException e) {
+              throw e.getCause();
+            }
+          });
+    }
+  }
+}
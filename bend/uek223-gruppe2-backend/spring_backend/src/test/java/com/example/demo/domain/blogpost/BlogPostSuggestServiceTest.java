@@ -0,0 +1,134 @@
+package com.example.demo.domain.blogpost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlogPostSuggestServiceTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  private final UUID dockerId = UUID.randomUUID();
+  private BlogPostSuggestService service;
+
+  @BeforeEach
+  void setUp() {
+    BlogPostRepository repository = mock(BlogPostRepository.class);
+    when(repository.findSuggestSources()).thenReturn(List.of(
+        source(dockerId, "Docker in Production", "Technology", NOW.minusDays(5)),
+        source(UUID.randomUUID(), "Docker Compose Basics", "Technology", NOW.minusDays(1)),
+        source(UUID.randomUUID(), "Über Databases", "Database", NOW.minusDays(2))));
+    service = new BlogPostSuggestService(repository, 10_000);
+    service.rebuild();
+  }
+
+  @Test
+  void suggestsNewestTitlesForNormalizedPrefix() {
+    assertThat(texts(service.suggestTitles("  DOCKER ", 10))).containsExactly("Docker Compose Basics",
+        "Docker in Production");
+    assertThat(texts(service.suggestTitles("uber", 10))).containsExactly("Über Databases");
+    assertThat(texts(service.suggestTitles("docker", 1))).containsExactly("Docker Compose Basics");
+    assertThat(service.suggestTitles("kubernetes", 10)).isEmpty();
+  }
+
+  @Test
+  void followsWritesBeforeAndAfterCompaction() {
+    UUID created = UUID.randomUUID();
+    service.onBlogPostChanged(event(BlogPostChangedEvent.Type.CREATED, created, "Docker Networking", "DevOps", null,
+        NOW));
+    service.onBlogPostChanged(event(BlogPostChangedEvent.Type.UPDATED, dockerId, "Containers in Production",
+        "Technology", "Technology", NOW.minusDays(5)));
+
+    assertThat(texts(service.suggestTitles("docker", 10))).containsExactly("Docker Networking",
+        "Docker Compose Basics");
+    assertThat(texts(service.suggestTitles("contain", 10))).containsExactly("Containers in Production");
+    assertThat(texts(service.suggestCategories("", 10))).containsExactly("DevOps", "Technology", "Database");
+
+    service.compact();
+    service.onBlogPostChanged(event(BlogPostChangedEvent.Type.DELETED, created, "Docker Networking", "DevOps", null,
+        NOW));
+
+    assertThat(texts(service.suggestTitles("docker", 10))).containsExactly("Docker Compose Basics");
+    assertThat(texts(service.suggestCategories("d", 10))).containsExactly("Database");
+  }
+
+  @Test
+  void keepsCategoryChangesCommittedDuringRebuild() {
+    BlogPostRepository repository = mock(BlogPostRepository.class);
+    BlogPostSuggestService rebuilding = new BlogPostSuggestService(repository, 10_000);
+    // The read sees the table before a post moves from Technology to DevOps
+    when(repository.findSuggestSources()).thenAnswer(invocation -> {
+      rebuilding.onBlogPostChanged(event(BlogPostChangedEvent.Type.UPDATED, dockerId, "Docker in Production",
+          "DevOps", "Technology", NOW.minusDays(5)));
+      return List.of(source(dockerId, "Docker in Production", "Technology", NOW.minusDays(5)));
+    });
+
+    rebuilding.rebuild();
+
+    assertThat(texts(rebuilding.suggestCategories("", 10))).containsExactly("DevOps");
+  }
+
+  @Test
+  void prefixIndexMatchesScanOfAllEntries() {
+    Random random = new Random(42);
+    List<PrefixIndex.Entry> entries = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      String title = "" + (char) ('a' + random.nextInt(3)) + (char) ('a' + random.nextInt(3)) + " post " + i;
+      entries.add(new PrefixIndex.Entry(UUID.randomUUID(), title, random.nextInt(10_000)));
+    }
+    PrefixIndex index = PrefixIndex.of(entries);
+
+    for (String prefix : List.of("", "a", "ab", "ca", "cc post 1", "d")) {
+      List<Long> expected = entries.stream()
+          .filter(e -> e.text().startsWith(prefix))
+          .map(PrefixIndex.Entry::recency)
+          .sorted(Comparator.reverseOrder())
+          .limit(10)
+          .toList();
+      assertThat(index.top(prefix, 10, id -> false)).extracting(PrefixIndex.Entry::recency)
+                                                    .containsExactlyElementsOf(expected);
+    }
+  }
+
+  private static List<String> texts(List<PrefixIndex.Entry> entries) {
+    return entries.stream().map(PrefixIndex.Entry::text).toList();
+  }
+
+  private static BlogPostChangedEvent event(BlogPostChangedEvent.Type type, UUID id, String title, String category,
+                                            String previousCategory, LocalDateTime createdAt) {
+    return new BlogPostChangedEvent(type, id, category, previousCategory, UUID.randomUUID(), title, createdAt);
+  }
+
+  private static BlogPostSuggestSource source(UUID id, String title, String category, LocalDateTime createdAt) {
+    return new BlogPostSuggestSource() {
+      @Override
+      public UUID getId() {
+        return id;
+      }
+
+      @Override
+      public String getTitle() {
+        return title;
+      }
+
+      @Override
+      public String getCategory() {
+        return category;
+      }
+
+      @Override
+      public LocalDateTime getCreatedAt() {
+        return createdAt;
+      }
+    };
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.domain.blogpost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BlogPostTotalsServiceTest {
+
+  private final UUID authorId = UUID.randomUUID();
+
+  @Test
+  void changesCommittedDuringReconciliationAreKept() {
+    BlogPostRepository repository = mock(BlogPostRepository.class);
+    BlogPostTotalsService totalsService = new BlogPostTotalsService(repository);
+    when(repository.countGroupedByCategoryAndAuthor()).thenReturn(List.of(count("Tech", 2)));
+    totalsService.reconcile();
+
+    // The count sees the table before a create and a category change that commit while it runs
+    when(repository.countGroupedByCategoryAndAuthor()).thenAnswer(invocation -> {
+      totalsService.onBlogPostChanged(event(BlogPostChangedEvent.Type.CREATED, "Tech", null));
+      totalsService.onBlogPostChanged(event(BlogPostChangedEvent.Type.UPDATED, "News", "Tech"));
+      return List.of(count("Tech", 2));
+    });
+    totalsService.reconcile();
+
+    assertThat(totalsService.total(null, null)).hasValue(3);
+    assertThat(totalsService.total("Tech", authorId)).hasValue(2);
+    assertThat(totalsService.total("News", null)).hasValue(1);
+  }
+
+  private BlogPostChangedEvent event(BlogPostChangedEvent.Type type, String category, String previousCategory) {
+    return new BlogPostChangedEvent(type, UUID.randomUUID(), category, previousCategory, authorId, "Title",
+        LocalDateTime.now());
+  }
+
+  private BlogPostCount count(String category, long total) {
+    return new BlogPostCount() {
+      @Override
+      public String getCategory() {
+        return category;
+      }
+
+      @Override
+      public UUID getAuthorId() {
+        return authorId;
+      }
+
+      @Override
+      public long getTotal() {
+        return total;
+      }
+    };
+  }
+}
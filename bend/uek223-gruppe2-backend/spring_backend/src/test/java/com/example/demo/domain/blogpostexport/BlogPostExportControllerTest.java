@@ -0,0 +1,98 @@
+package com.example.demo.domain.blogpostexport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.domain.blogpost.BlogPost;
+import com.example.demo.domain.blogpost.BlogPostRepository;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BlogPostExportControllerTest {
+
+  private static final RequestPostProcessor ADMIN = user("admin").roles("ADMIN");
+  // Holds BLOGPOST_MODIFY like a seeded USER, but exports carry every author's posts
+  private static final RequestPostProcessor USER = user("user").authorities(
+      new SimpleGrantedAuthority("BLOGPOST_MODIFY"), new SimpleGrantedAuthority("ROLE_USER"));
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private BlogPostRepository blogPostRepository;
+  @Autowired
+  private BlogPostExportService blogPostExportService;
+
+  @Test
+  void exportIsDownloadedWholeAndByRange() throws Exception {
+    User author = userRepository.save(new User(null, "Eve", "Exporter", "exporter@example.com", "secret", Set.of()));
+    blogPostRepository.save(new BlogPost(null, "Exported \"quoted\"", "Text with a\nline break, long enough", "Export",
+        author, null, null));
+    long posts = blogPostRepository.count();
+
+    String created = mockMvc.perform(post("/blogpost/admin/exports").param("format", "ndjson").with(ADMIN))
+                            .andExpect(status().isAccepted())
+                            .andReturn().getResponse().getContentAsString();
+    UUID id = UUID.fromString(objectMapper.readTree(created).get("id").asText());
+    ExportJob job = blogPostExportService.find(id).orElseThrow();
+    for (int i = 0; i < 100 && job.getFinishedAt() == null; i++) {
+      Thread.sleep(50);
+    }
+    assertThat(job.getStatus()).isEqualTo(ExportJob.Status.DONE);
+
+    byte[] file = mockMvc.perform(get("/blogpost/admin/exports/" + id + "/file").with(ADMIN))
+                         .andExpect(status().isOk())
+                         .andReturn().getResponse().getContentAsByteArray();
+    String[] lines = new String(new GZIPInputStream(new ByteArrayInputStream(file)).readAllBytes(),
+        StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize((int) posts);
+    assertThat(Arrays.stream(lines).map(line -> {
+      try {
+        return objectMapper.readTree(line).get("title").asText();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    })).contains("Exported \"quoted\"");
+
+    byte[] tail = mockMvc.perform(get("/blogpost/admin/exports/" + id + "/file").header("Range", "bytes=10-")
+                                     .with(ADMIN))
+                         .andExpect(status().isPartialContent())
+                         .andExpect(header().string("Content-Range", "bytes 10-" + (file.length - 1) + "/" + file.length))
+                         .andReturn().getResponse().getContentAsByteArray();
+    assertThat(tail).isEqualTo(Arrays.copyOfRange(file, 10, file.length));
+
+    mockMvc.perform(get("/blogpost/admin/exports/" + id + "/file").header("Range", "bytes=" + file.length + "-")
+                        .with(ADMIN))
+           .andExpect(status().isRequestedRangeNotSatisfiable());
+
+    mockMvc.perform(get("/blogpost/admin/exports/" + id + "/file").with(USER)).andExpect(status().isForbidden());
+    mockMvc.perform(get("/blogpost/admin/exports/" + id).with(USER)).andExpect(status().isForbidden());
+    mockMvc.perform(get("/blogpost/admin/exports").with(USER)).andExpect(status().isForbidden());
+    mockMvc.perform(post("/blogpost/admin/exports").with(USER)).andExpect(status().isForbidden());
+  }
+}
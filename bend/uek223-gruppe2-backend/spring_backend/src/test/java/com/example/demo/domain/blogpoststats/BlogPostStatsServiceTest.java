@@ -0,0 +1,104 @@
+package com.example.demo.domain.blogpoststats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.domain.blogpost.BlogPost;
+import com.example.demo.domain.blogpost.BlogPostService;
+import com.example.demo.domain.blogpost.dto.BlogPostUpdateDTO;
+import com.example.demo.domain.user.User;
+import com.example.demo.domain.user.UserRepository;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BlogPostStatsServiceTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private BlogPostStatsService statsService;
+  @Autowired
+  private BlogPostService blogPostService;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private CategoryPostCountRepository categoryRepository;
+  @Autowired
+  private AuthorPostCountRepository authorRepository;
+  @Autowired
+  private DailyPostCountRepository dailyRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void writesMoveCountersAndReconcileRepairsThem() throws Exception {
+    User author = userRepository.save(new User(null, "Stan", "Stats", "stats@example.com", "secret", Set.of()));
+    LocalDate today = LocalDate.now();
+    long todayBefore = dayCount(today);
+
+    BlogPost first = blogPostService.createBlogPost(
+        new BlogPost(null, "Counted one", "Text that is long enough to post", "StatsOld", null, null, null), author);
+    BlogPost second = blogPostService.createBlogPost(
+        new BlogPost(null, "Counted two", "Text that is long enough to post", "StatsOld", null, null, null), author);
+    blogPostService.updateBlogPost(first.getId(),
+        new BlogPostUpdateDTO("Counted one", "Text that is long enough to post", "StatsNew")
+            .setVersion(first.getVersion()), null);
+    blogPostService.createBlogPost(
+        new BlogPost(null, "Counted three", "Text that is long enough to post", "StatsNew", null, null, null), author);
+    blogPostService.deleteBlogPost(second.getId(), null, null);
+
+    assertThat(categoryCount("StatsOld")).isZero();
+    assertThat(categoryCount("StatsNew")).isEqualTo(2);
+    assertThat(authorCount(author.getId())).isEqualTo(2);
+    assertThat(dayCount(today)).isEqualTo(todayBefore + 2);
+
+    mockMvc.perform(get("/blogpost/stats/categories"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[?(@.key == 'StatsNew')].count").value(2))
+           .andExpect(jsonPath("$[?(@.key == 'StatsOld')]").isEmpty());
+    mockMvc.perform(get("/blogpost/stats/authors").param("limit", "100"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[?(@.key == '" + author.getId() + "')].count").value(2));
+    mockMvc.perform(get("/blogpost/stats/daily").param("from", today.toString()).param("to", today.toString()))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].key").value(today.toString()))
+           .andExpect(jsonPath("$[0].count").value((int) (todayBefore + 2)));
+
+    jdbcTemplate.update("update blog_post_category_count set post_count = 42 where category = 'StatsNew'");
+    jdbcTemplate.update("insert into blog_post_category_count (category, post_count) values ('StatsGhost', 7)");
+    jdbcTemplate.update("delete from blog_post_author_count where author_id = ?", author.getId());
+    jdbcTemplate.update("update blog_post_daily_count set post_count = post_count + 5 where post_day = ?", today);
+
+    statsService.reconcile();
+
+    assertThat(categoryCount("StatsNew")).isEqualTo(2);
+    assertThat(categoryRepository.existsById("StatsGhost")).isFalse();
+    assertThat(authorCount(author.getId())).isEqualTo(2);
+    assertThat(dayCount(today)).isEqualTo(todayBefore + 2);
+  }
+
+  private long categoryCount(String category) {
+    return categoryRepository.findById(category).map(CategoryPostCount::getPostCount).orElse(0L);
+  }
+
+  private long authorCount(UUID authorId) {
+    return authorRepository.findById(authorId).map(AuthorPostCount::getPostCount).orElse(0L);
+  }
+
+  private long dayCount(LocalDate day) {
+    return dailyRepository.findById(day).map(DailyPostCount::getPostCount).orElse(0L);
+  }
+}
@@ -60,6 +60,8 @@ const BlogPostForm = ({ onSubmit, initialValues }: BlogPostFormProps) => {
         title: values.title,
         text: values.text,
         category: values.category,
+        // Version the post was loaded with, the backend rejects the edit if it changed meanwhile
+        version: initialValues?.version,
       };
 
       if (onSubmit) {
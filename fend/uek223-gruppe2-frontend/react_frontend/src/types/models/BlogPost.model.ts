@@ -1,4 +1,11 @@
-import { User } from './User.model';
+/**
+ * AuthorSummary - Author as embedded in a blog post response
+ */
+export type AuthorSummary = {
+  id: string;
+  firstName: string;
+  lastName: string;
+};
 
 /**
  * BlogPost - Data model for blog post entities
@@ -9,9 +16,10 @@ export type BlogPost = {
   title: string;
   text: string;
   category: string;
-  author?: User;
+  author?: AuthorSummary;
   createdAt?: string;
   updatedAt?: string;
+  version?: number;
 };
 
 /**